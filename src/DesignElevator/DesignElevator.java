@@ -1,366 +1,4 @@
 package DesignElevator;
 
-import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
-
-enum Direction {
-    UP, DOWN, IDLE
-}
-enum RequestSource {
-    INTERNAL, // From inside the cabin
-    EXTERNAL  // From the hall/floor
-}
-class Request {
-    private final int targetFloor;
-    private final Direction direction; // Primarily for External requests
-    private final RequestSource source;
-
-    public Request(int targetFloor, Direction direction, RequestSource source) {
-        this.targetFloor = targetFloor;
-        this.direction = direction;
-        this.source = source;
-    }
-
-    public int getTargetFloor() {
-        return targetFloor;
-    }
-
-    public Direction getDirection() {
-        return direction;
-    }
-
-    public RequestSource getSource() {
-        return source;
-    }
-
-    @Override
-    public String toString() {
-        return source + " Request to floor " + targetFloor +
-                (source == RequestSource.EXTERNAL ? " going " + direction : "");
-    }
-}
-interface ElevatorState {
-    void move(Elevator elevator);
-    void addRequest(Elevator elevator, Request request);
-    Direction getDirection();
-}
-
-class IdleState implements ElevatorState {
-    @Override
-    public void move(Elevator elevator) {
-        if (!elevator.getUpRequests().isEmpty()) {
-            elevator.setState(new MovingUpState());
-        } else if (!elevator.getDownRequests().isEmpty()) {
-            elevator.setState(new MovingDownState());
-        }
-        // Else stay idle
-    }
-
-    @Override
-    public void addRequest(Elevator elevator, Request request) {
-        if (request.getTargetFloor() > elevator.getCurrentFloor()) {
-            elevator.getUpRequests().add(request.getTargetFloor());
-        } else if (request.getTargetFloor() < elevator.getCurrentFloor()) {
-            elevator.getDownRequests().add(request.getTargetFloor());
-        }
-        // If request is for current floor, doors would open (handled implicitly by moving to that floor)
-    }
-
-    @Override
-    public Direction getDirection() { return Direction.IDLE; }
-}
-
-class MovingDownState implements ElevatorState {
-    @Override
-    public void move(Elevator elevator) {
-        if (elevator.getDownRequests().isEmpty()) {
-            elevator.setState(new IdleState());
-            return;
-        }
-
-        Integer nextFloor = elevator.getDownRequests().first();
-        elevator.setCurrentFloor(elevator.getCurrentFloor() - 1);
-
-        if (elevator.getCurrentFloor() == nextFloor) {
-            System.out.println("Elevator " + elevator.getId() + " stopped at floor " + nextFloor);
-            elevator.getDownRequests().pollFirst();
-        }
-
-        if (elevator.getDownRequests().isEmpty()) {
-            elevator.setState(new IdleState());
-        }
-    }
-
-    @Override
-    public void addRequest(Elevator elevator, Request request) {
-        // Internal requests always get added to the appropriate queue
-        if (request.getSource() == RequestSource.INTERNAL) {
-            if (request.getTargetFloor() > elevator.getCurrentFloor()) {
-                elevator.getUpRequests().add(request.getTargetFloor());
-            } else {
-                elevator.getDownRequests().add(request.getTargetFloor());
-            }
-            return;
-        }
-
-        // External requests
-        if (request.getDirection() == Direction.DOWN && request.getTargetFloor() <= elevator.getCurrentFloor()) {
-            elevator.getDownRequests().add(request.getTargetFloor());
-        } else if (request.getDirection() == Direction.UP) {
-            elevator.getUpRequests().add(request.getTargetFloor());
-        }
-    }
-
-    @Override
-    public Direction getDirection() { return Direction.DOWN; }
-}
-
-class MovingUpState implements ElevatorState {
-    @Override
-    public void move(Elevator elevator) {
-        if (elevator.getUpRequests().isEmpty()) {
-            elevator.setState(new IdleState());
-            return;
-        }
-
-        Integer nextFloor = elevator.getUpRequests().first();
-        elevator.setCurrentFloor(elevator.getCurrentFloor() + 1);
-
-        if (elevator.getCurrentFloor() == nextFloor) {
-            System.out.println("Elevator " + elevator.getId() + " stopped at floor " + nextFloor);
-            elevator.getUpRequests().pollFirst();
-        }
-
-        if (elevator.getUpRequests().isEmpty()) {
-            elevator.setState(new IdleState());
-        }
-    }
-
-    @Override
-    public void addRequest(Elevator elevator, Request request) {
-        // Internal requests always get added to the appropriate queue
-        if (request.getSource() == RequestSource.INTERNAL) {
-            if (request.getTargetFloor() > elevator.getCurrentFloor()) {
-                elevator.getUpRequests().add(request.getTargetFloor());
-            } else {
-                elevator.getDownRequests().add(request.getTargetFloor());
-            }
-            return;
-        }
-
-        // External requests
-        if (request.getDirection() == Direction.UP && request.getTargetFloor() >= elevator.getCurrentFloor()) {
-            elevator.getUpRequests().add(request.getTargetFloor());
-        } else if (request.getDirection() == Direction.DOWN) {
-            elevator.getDownRequests().add(request.getTargetFloor());
-        }
-    }
-
-    @Override
-    public Direction getDirection() { return Direction.UP; }
-}
-class Elevator implements Runnable {
-    private final int id;
-    private AtomicInteger currentFloor;
-    private ElevatorState state;
-    private volatile boolean isRunning = true;
-
-    private final TreeSet<Integer> upRequests;
-    private final TreeSet<Integer> downRequests;
-
-    // Observer Pattern: List of observers
-    private final List<ElevatorObserver> observers = new ArrayList<>();
-
-    public Elevator(int id) {
-        this.id = id;
-        this.currentFloor = new AtomicInteger(1);
-        this.upRequests = new TreeSet<>();
-        this.downRequests = new TreeSet<>((a, b) -> b - a);
-        this.state = new IdleState();
-    }
-
-    // --- Observer Pattern Methods ---
-    public void addObserver(ElevatorObserver observer) {
-        observers.add(observer);
-        observer.update(this); // Send initial state
-    }
-
-    public void notifyObservers() {
-        for (ElevatorObserver observer : observers) {
-            observer.update(this);
-        }
-    }
-
-    // --- State Pattern Methods ---
-    public void setState(ElevatorState state) {
-        this.state = state;
-        notifyObservers(); // Notify observers on direction change
-    }
-
-    public void move() {
-        state.move(this);
-    }
-
-    // --- Request Handling ---
-    public synchronized void addRequest(Request request) {
-        System.out.println("Elevator " + id + " processing: " + request);
-        state.addRequest(this, request);
-    }
-
-    // --- Getters and Setters ---
-    public int getId() { return id; }
-    public int getCurrentFloor() { return currentFloor.get(); }
-
-    public void setCurrentFloor(int floor) {
-        this.currentFloor.set(floor);
-        notifyObservers(); // Notify observers on floor change
-    }
-
-    public Direction getDirection() { return state.getDirection(); }
-    public TreeSet<Integer> getUpRequests() { return upRequests; }
-    public TreeSet<Integer> getDownRequests() { return downRequests; }
-    public boolean isRunning() { return isRunning; }
-    public void stopElevator() { this.isRunning = false; }
-
-    @Override
-    public void run() {
-        while (isRunning) {
-            move();
-            try {
-                Thread.sleep(1000); // Simulate movement time
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                isRunning = false;
-            }
-        }
-    }
-}
-
-interface ElevatorSelectionStrategy {
-    Optional<Elevator> selectElevator(List<Elevator> elevators, Request request);
-}
-
-class NearestElevatorStrategy implements ElevatorSelectionStrategy {
-    @Override
-    public Optional<Elevator> selectElevator(List<Elevator> elevators, Request request) {
-        Elevator bestElevator = null;
-        int minDistance = Integer.MAX_VALUE;
-
-        for (Elevator elevator : elevators) {
-            if (isSuitable(elevator, request)) {
-                int distance = Math.abs(elevator.getCurrentFloor() - request.getTargetFloor());
-                if (distance < minDistance) {
-                    minDistance = distance;
-                    bestElevator = elevator;
-                }
-            }
-        }
-        return Optional.ofNullable(bestElevator);
-    }
-
-    private boolean isSuitable(Elevator elevator, Request request) {
-        if (elevator.getDirection() == Direction.IDLE)
-            return true;
-        if (elevator.getDirection() == request.getDirection()) {
-            if (request.getDirection() == Direction.UP && elevator.getCurrentFloor() <= request.getTargetFloor())
-                return true;
-            if (request.getDirection() == Direction.DOWN && elevator.getCurrentFloor() >= request.getTargetFloor())
-                return true;
-        }
-        return false;
-    }
-}
-
-class ElevatorSystem {
-    private static ElevatorSystem instance;
-
-    private final Map<Integer, Elevator> elevators;
-    private final ElevatorSelectionStrategy selectionStrategy;
-    private final ExecutorService executorService;
-
-    private ElevatorSystem(int numElevators) {
-        this.selectionStrategy = new NearestElevatorStrategy();
-        this.executorService = Executors.newFixedThreadPool(numElevators);
-
-        List<Elevator> elevatorList = new ArrayList<>();
-        ElevatorDisplay elevatorDisplay = new ElevatorDisplay(); // Create the observer
-
-        for (int i = 1; i <= numElevators; i++) {
-            Elevator elevator = new Elevator(i);
-            elevator.addObserver(elevatorDisplay); // Attach the observer
-            elevatorList.add(elevator);
-        }
-
-        this.elevators = elevatorList.stream().collect(Collectors.toMap(Elevator::getId, e -> e));
-    }
-
-    public static synchronized ElevatorSystem getInstance(int numElevators) {
-        if (instance == null) {
-            instance = new ElevatorSystem(numElevators);
-        }
-        return instance;
-    }
-
-    public void start() {
-        for (Elevator elevator : elevators.values()) {
-            executorService.submit(elevator);
-        }
-    }
-
-    // --- Facade Methods ---
-
-    // EXTERNAL Request (Hall Call)
-    public void requestElevator(int floor, Direction direction) {
-        System.out.println("\n>> EXTERNAL Request: User at floor " + floor + " wants to go " + direction);
-        Request request = new Request(floor, direction, RequestSource.EXTERNAL);
-
-        // Use strategy to find the best elevator
-        Optional<Elevator> selectedElevator = selectionStrategy.selectElevator(new ArrayList<>(elevators.values()), request);
-
-        if(selectedElevator.isPresent()) {
-            selectedElevator.get().addRequest(request);
-        } else {
-            System.out.println("System busy, please wait.");
-        }
-    }
-
-    // INTERNAL Request (Cabin Call)
-    public void selectFloor(int elevatorId, int destinationFloor) {
-        System.out.println("\n>> INTERNAL Request: User in Elevator " + elevatorId + " selected floor " + destinationFloor);
-        Request request = new Request(destinationFloor, Direction.IDLE, RequestSource.INTERNAL);
-
-        Elevator elevator = elevators.get(elevatorId);
-        if (elevator != null) {
-            elevator.addRequest(request);
-        } else {
-            System.err.println("Invalid elevator ID.");
-        }
-    }
-
-    public void shutdown() {
-        System.out.println("Shutting down elevator system...");
-        for (Elevator elevator : elevators.values()) {
-            elevator.stopElevator();
-        }
-        executorService.shutdown();
-    }
-}
-
-interface ElevatorObserver {
-    void update(Elevator elevator);
-}
-
-class ElevatorDisplay implements ElevatorObserver {
-    @Override
-    public void update(Elevator elevator) {
-        System.out.println("[DISPLAY] Elevator " + elevator.getId() +
-                " | Current Floor: " + elevator.getCurrentFloor() +
-                " | Direction: " + elevator.getDirection());
-    }
-}
-
 public class DesignElevator {
 }
@@ -0,0 +1,5 @@
+package DesignElevator;
+
+enum Direction {
+    UP, DOWN, IDLE
+}
@@ -0,0 +1,142 @@
+package DesignElevator;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Compares hall-call dispatch policies on the same seeded traffic: nearest car, minimum ETA, and minimum
+// ETA with reassignment. Cars are stepped directly, one move() per one-second tick, so a simulated
+// hour runs in well under a second and every policy sees identical arrivals.
+// usage: java DesignElevator.DispatchBenchmark [floors] [cars] [arrivalsPerMinute] [minutes] [lobbyShare]
+public class DispatchBenchmark {
+    private static final long TICK_MILLIS = 1000;
+
+    public static void main(String[] args) {
+        int floors = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int cars = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        double arrivalsPerMinute = args.length > 2 ? Double.parseDouble(args[2]) : 120;
+        int minutes = args.length > 3 ? Integer.parseInt(args[3]) : 60;
+        double lobbyShare = args.length > 4 ? Double.parseDouble(args[4]) : 0.8;
+
+        System.out.printf("floors=%d cars=%d arrivals/min=%.0f minutes=%d lobbyShare=%.2f%n",
+                floors, cars, arrivalsPerMinute, minutes, lobbyShare);
+        Duration floorTime = Duration.ofMillis(TICK_MILLIS);
+        EtaElevatorStrategy eta = new EtaElevatorStrategy(floorTime, Duration.ZERO);
+        PrintStream console = System.out;
+        // cars and the dispatcher log every request and stop; keep that off the console while running
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            report(console, "nearest car", run(floors, cars, arrivalsPerMinute, minutes, lobbyShare,
+                    new NearestElevatorStrategy(), null));
+            report(console, "minimum ETA", run(floors, cars, arrivalsPerMinute, minutes, lobbyShare, eta, null));
+            report(console, "minimum ETA + reassignment", run(floors, cars, arrivalsPerMinute, minutes, lobbyShare,
+                    eta, eta));
+        } finally {
+            System.setOut(console);
+        }
+    }
+
+    private static final class Result {
+        private final long[] waitTicks;
+        private final int unserved;
+        private final long reassignments;
+
+        Result(long[] waitTicks, int unserved, long reassignments) {
+            this.waitTicks = waitTicks;
+            this.unserved = unserved;
+            this.reassignments = reassignments;
+        }
+    }
+
+    private static Result run(int floors, int carCount, double arrivalsPerMinute, int minutes, double lobbyShare,
+                              ElevatorSelectionStrategy selection, EtaElevatorStrategy reassignWith) {
+        Random random = new Random(42);
+        List<Elevator> cars = new ArrayList<>();
+        for (int i = 1; i <= carCount; i++) {
+            cars.add(new Elevator(i, floors + 1));
+        }
+        long[] now = {0};
+        HallCallDispatcher dispatcher = new HallCallDispatcher(cars, selection, reassignWith,
+                Duration.ofMillis(3 * TICK_MILLIS), () -> now[0] * TICK_MILLIS);
+        // passengers waiting behind each hall call, by floor and direction; each entry is {arrivalTick, destination}
+        Map<Integer, List<long[]>> waiting = new HashMap<>();
+        List<Long> waits = new ArrayList<>();
+        double arrivalChancePerTick = arrivalsPerMinute / 60.0;
+        long arrivalTicks = minutes * 60L;
+        long lastTick = arrivalTicks + 3600; // let the building drain
+
+        for (long tick = 0; tick < lastTick && (tick < arrivalTicks || dispatcher.getWaitingCalls() > 0); tick++) {
+            now[0] = tick;
+            if (tick < arrivalTicks) {
+                for (double chance = arrivalChancePerTick; chance > 0; chance -= 1) {
+                    if (random.nextDouble() < chance)
+                        arrive(random, floors, lobbyShare, tick, dispatcher, waiting);
+                }
+            }
+            for (Elevator car : cars) {
+                car.move();
+            }
+            for (HallCallDispatcher.HallCall call : dispatcher.update()) {
+                List<long[]> boarding = waiting.remove(key(call.getFloor(), call.getDirection()));
+                if (boarding == null)
+                    continue;
+                for (long[] passenger : boarding) {
+                    waits.add(tick - passenger[0]);
+                    call.getAssigned().addRequest(new Request((int) passenger[1], Direction.IDLE, RequestSource.INTERNAL));
+                }
+            }
+        }
+        int unserved = waiting.values().stream().mapToInt(List::size).sum();
+        return new Result(waits.stream().mapToLong(Long::longValue).toArray(), unserved, dispatcher.getReassignments());
+    }
+
+    // Up-peak flavoured mix: lobbyShare of riders start at the lobby going up, the rest are split between
+    // trips down to the lobby and trips between upper floors.
+    private static void arrive(Random random, int floors, double lobbyShare, long tick, HallCallDispatcher dispatcher,
+                               Map<Integer, List<long[]>> waiting) {
+        int from;
+        int to;
+        double kind = random.nextDouble();
+        if (kind < lobbyShare) {
+            from = 1;
+            to = 2 + random.nextInt(floors - 1);
+        } else if (kind < lobbyShare + (1 - lobbyShare) / 2) {
+            from = 2 + random.nextInt(floors - 1);
+            to = 1;
+        } else {
+            from = 2 + random.nextInt(floors - 1);
+            do {
+                to = 2 + random.nextInt(floors - 1);
+            } while (to == from);
+        }
+        Direction direction = to > from ? Direction.UP : Direction.DOWN;
+        waiting.computeIfAbsent(key(from, direction), k -> new ArrayList<>()).add(new long[]{tick, to});
+        dispatcher.call(from, direction);
+    }
+
+    private static int key(int floor, Direction direction) {
+        return floor * 2 + (direction == Direction.DOWN ? 1 : 0);
+    }
+
+    private static void report(PrintStream console, String name, Result result) {
+        long[] sorted = result.waitTicks.clone();
+        Arrays.sort(sorted);
+        double average = Arrays.stream(sorted).average().orElse(0);
+        console.printf("%-28s served=%6d  avg wait=%6.1fs  p95=%5ds  max=%5ds  unserved=%d  reassignments=%d%n",
+                name, sorted.length, average * TICK_MILLIS / 1000.0, percentile(sorted, 0.95), sorted.length == 0 ? 0 : sorted[sorted.length - 1],
+                result.unserved, result.reassignments);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0)
+            return 0;
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(index, 0)];
+    }
+}
@@ -0,0 +1,98 @@
+package DesignElevator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class Elevator {
+    private final int id;
+    private static final int DEFAULT_FLOORS = 128;
+
+    private AtomicInteger currentFloor;
+    private volatile ElevatorState state;
+    private volatile boolean isRunning = true;
+    // true while the scheduler has a tick queued for this car; false means the car is parked
+    private final AtomicBoolean active = new AtomicBoolean();
+
+    private final StopMap stops;
+    private final FloorRequests upRequests;
+    private final FloorRequests downRequests;
+    // floors someone inside the car asked for, kept so a dispatcher moving a hall call away never drops them
+    private final StopMap cabinCalls;
+
+    // Observer Pattern: List of observers
+    private final List<ElevatorObserver> observers = new ArrayList<>();
+
+    public Elevator(int id) {
+        this(id, DEFAULT_FLOORS);
+    }
+
+    public Elevator(int id, int floors) {
+        this.id = id;
+        this.currentFloor = new AtomicInteger(1);
+        this.stops = new StopMap(floors);
+        this.cabinCalls = new StopMap(floors);
+        this.upRequests = new FloorRequests(stops, Direction.UP);
+        this.downRequests = new FloorRequests(stops, Direction.DOWN);
+        this.state = IdleState.INSTANCE;
+    }
+
+    // --- Observer Pattern Methods ---
+    public void addObserver(ElevatorObserver observer) {
+        observers.add(observer);
+        observer.update(this); // Send initial state
+    }
+
+    public void notifyObservers() {
+        for (ElevatorObserver observer : observers) {
+            observer.update(this);
+        }
+    }
+
+    // --- State Pattern Methods ---
+    public void setState(ElevatorState state) {
+        this.state = state;
+        notifyObservers(); // Notify observers on direction change
+    }
+
+    public void move() {
+        state.move(this);
+    }
+
+    // --- Request Handling ---
+    // No lock: the stop sets are atomic, so callers never wait on the car's tick.
+    public void addRequest(Request request) {
+        System.out.println("Elevator " + id + " processing: " + request);
+        if (request.getSource() == RequestSource.INTERNAL && request.getTargetFloor() != getCurrentFloor())
+            cabinCalls.add(request.getTargetFloor(), Direction.UP);
+        state.addRequest(this, request);
+    }
+
+    StopMap getStops() { return stops; }
+    public boolean servesFloor(int floor) { return stops.covers(floor); }
+    boolean hasCabinCall(int floor) { return cabinCalls.contains(floor, Direction.UP); }
+    void clearCabinCall(int floor) { cabinCalls.remove(floor, Direction.UP); }
+
+    // --- Getters and Setters ---
+    public int getId() { return id; }
+    public int getCurrentFloor() { return currentFloor.get(); }
+
+    public void setCurrentFloor(int floor) {
+        this.currentFloor.set(floor);
+        notifyObservers(); // Notify observers on floor change
+    }
+
+    public Direction getDirection() { return state.getDirection(); }
+    public FloorRequests getUpRequests() { return upRequests; }
+    public FloorRequests getDownRequests() { return downRequests; }
+    public boolean isRunning() { return isRunning; }
+    public void stopElevator() { this.isRunning = false; }
+
+    public boolean hasPendingRequests() {
+        return !upRequests.isEmpty() || !downRequests.isEmpty();
+    }
+
+    boolean tryActivate() { return active.compareAndSet(false, true); }
+    void deactivate() { active.set(false); }
+}
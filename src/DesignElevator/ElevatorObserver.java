@@ -0,0 +1,5 @@
+package DesignElevator;
+
+interface ElevatorObserver {
+    void update(Elevator elevator);
+}
@@ -0,0 +1,64 @@
+package DesignElevator;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Drives every car from one small scheduled pool instead of a thread per car sleeping in a loop.
+// A car gets a tick only while it has stops to serve. Once it is idle it is parked with nothing scheduled,
+// and the next request for it wakes it, so idle cars cost nothing and thousands of cars share a few threads.
+class ElevatorScheduler {
+    private final ScheduledExecutorService executor;
+    private final long tickMillis;
+    private volatile boolean running = true;
+
+    public ElevatorScheduler(int threads, Duration tick) {
+        this.tickMillis = tick.toMillis();
+        AtomicInteger threadIds = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "elevator-scheduler-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void wake(Elevator elevator) {
+        if (running && elevator.isRunning() && elevator.tryActivate())
+            executor.schedule(() -> tick(elevator), tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // A car's next tick is scheduled only from its previous one, so ticks for one car never overlap.
+    private void tick(Elevator elevator) {
+        if (!running || !elevator.isRunning()) {
+            elevator.deactivate();
+            return;
+        }
+        try {
+            elevator.move();
+        } catch (RuntimeException e) {
+            // the tick runs on the pool, where an escaping exception is dropped and the car stays marked
+            // active with nothing scheduled; log it and carry on so the car is parked or ticked as usual
+            System.err.println("Elevator " + elevator.getId() + " tick failed: " + e);
+        }
+        if (elevator.getDirection() == Direction.IDLE && !elevator.hasPendingRequests()) {
+            elevator.deactivate();
+            // a request may have arrived between the check and the deactivate; don't leave it parked
+            if (elevator.hasPendingRequests())
+                wake(elevator);
+        } else {
+            executor.schedule(() -> tick(elevator), tickMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // housekeeping that runs beside the car ticks, e.g. the dispatcher's reassignment pass
+    public void every(Duration period, Runnable task) {
+        executor.scheduleAtFixedRate(task, period.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void shutdown() {
+        running = false;
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,8 @@
+package DesignElevator;
+
+import java.util.List;
+import java.util.Optional;
+
+interface ElevatorSelectionStrategy {
+    Optional<Elevator> selectElevator(List<Elevator> elevators, Request request);
+}
@@ -0,0 +1,338 @@
+package DesignElevator;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+// Discrete-event simulation of a building: the real Elevator cars and HallCallDispatcher, driven off a
+// virtual clock instead of the ElevatorScheduler. Time jumps from one event to the next (a car's next
+// move, a passenger arriving, a dispatcher pass), so nothing sleeps, idle hours cost nothing, and the
+// same seed always replays the same day. Door dwell is added after every stop, cars have a capacity,
+// and each passenger's wait (arrival to boarding) and ride (boarding to leaving the car) are recorded.
+// usage: java DesignElevator.ElevatorSimulation [floors] [cars] [hours] [seed] [perFloor]
+// perFloor is how many people work on each upper floor (default 20); each of them makes one trip per pattern.
+public class ElevatorSimulation {
+    private static final int CAR_MOVE = 0;
+    private static final int ARRIVAL = 1;
+    private static final int DISPATCH = 2;
+    private static final long DRAIN_MILLIS = Duration.ofHours(2).toMillis();
+
+    private record Event(long atMillis, long seq, int kind, int target) implements Comparable<Event> {
+        @Override
+        public int compareTo(Event other) {
+            int byTime = Long.compare(atMillis, other.atMillis);
+            return byTime != 0 ? byTime : Long.compare(seq, other.seq);
+        }
+    }
+
+    private static final class Passenger {
+        private final int pattern;
+        private final int destination;
+        private final long arrivedAtMillis;
+        private long boardedAtMillis;
+
+        Passenger(int pattern, int destination, long arrivedAtMillis) {
+            this.pattern = pattern;
+            this.destination = destination;
+            this.arrivedAtMillis = arrivedAtMillis;
+        }
+    }
+
+    // Wait and ride times per traffic pattern, in milliseconds.
+    static final class Report {
+        private final List<String> patterns;
+        private final long[][] waits;
+        private final long[][] rides;
+        private final int unfinished;
+        private final long reassignments;
+        private final long events;
+        private final long wallMillis;
+
+        Report(List<String> patterns, long[][] waits, long[][] rides, int unfinished, long reassignments,
+               long events, long wallMillis) {
+            this.patterns = patterns;
+            this.waits = waits;
+            this.rides = rides;
+            this.unfinished = unfinished;
+            this.reassignments = reassignments;
+            this.events = events;
+            this.wallMillis = wallMillis;
+        }
+
+        void print(PrintStream out, String title) {
+            out.printf("%s: %d events in %d ms, reassignments=%d, unfinished=%d%n",
+                    title, events, wallMillis, reassignments, unfinished);
+            for (int i = 0; i < patterns.size(); i++) {
+                line(out, patterns.get(i), waits[i], rides[i]);
+            }
+            line(out, "all", concat(waits), concat(rides));
+        }
+
+        private static void line(PrintStream out, String name, long[] waits, long[] rides) {
+            out.printf("  %-12s trips=%6d  wait avg=%5.1fs p95=%5.1fs  ride avg=%5.1fs p95=%5.1fs%n", name,
+                    rides.length, average(waits), percentile(waits, 0.95), average(rides), percentile(rides, 0.95));
+        }
+
+        private static long[] concat(long[][] parts) {
+            return Arrays.stream(parts).flatMapToLong(Arrays::stream).sorted().toArray();
+        }
+
+        private static double average(long[] millis) {
+            return Arrays.stream(millis).average().orElse(0) / 1000.0;
+        }
+
+        // millis must be sorted
+        private static double percentile(long[] millis, double p) {
+            if (millis.length == 0)
+                return 0;
+            int index = (int) Math.min(millis.length - 1, Math.ceil(p * millis.length) - 1);
+            return millis[Math.max(index, 0)] / 1000.0;
+        }
+    }
+
+    private final int floors;
+    private final List<Elevator> cars = new ArrayList<>();
+    private final HallCallDispatcher dispatcher;
+    private final List<TrafficPattern> patterns;
+    private final long floorMillis;
+    private final long doorMillis;
+    private final int capacity;
+    private final long dispatchEveryMillis;
+
+    private final PriorityQueue<Event> queue = new PriorityQueue<>();
+    private final Random[] randoms;
+    private final boolean[] carScheduled;
+    private final List<List<Passenger>> riders = new ArrayList<>();
+    // passengers waiting at a hall button, by floor and direction
+    private final Map<Integer, ArrayDeque<Passenger>> waiting = new HashMap<>();
+    // the full car that last left people at a hall button; they press again once it has gone
+    private final Map<Integer, Elevator> leftBehindBy = new HashMap<>();
+    private final List<List<Long>> waits = new ArrayList<>();
+    private final List<List<Long>> rides = new ArrayList<>();
+    private long now;
+    private long seq;
+    private long events;
+
+    // selection picks a car for each new hall call; reassignWith, if not null, lets the dispatcher move calls
+    ElevatorSimulation(int floors, int carCount, ElevatorSelectionStrategy selection, EtaElevatorStrategy reassignWith,
+                       List<TrafficPattern> patterns, Duration floorTime, Duration doorTime, int capacity, long seed) {
+        this.floors = floors;
+        this.patterns = List.copyOf(patterns);
+        this.floorMillis = floorTime.toMillis();
+        this.doorMillis = doorTime.toMillis();
+        this.capacity = capacity;
+        this.dispatchEveryMillis = floorMillis;
+        for (int i = 1; i <= carCount; i++) {
+            cars.add(new Elevator(i, floors + 1));
+            riders.add(new ArrayList<>());
+        }
+        this.carScheduled = new boolean[carCount];
+        this.dispatcher = new HallCallDispatcher(cars, selection, reassignWith, Duration.ofMillis(3 * floorMillis),
+                () -> now);
+        this.randoms = new Random[this.patterns.size()];
+        for (int i = 0; i < randoms.length; i++) {
+            randoms[i] = new Random(seed * 31 + i);
+            waits.add(new ArrayList<>());
+            rides.add(new ArrayList<>());
+        }
+    }
+
+    // Runs arrivals for the given length of virtual time, then lets the building empty out.
+    Report run(Duration length) {
+        long started = System.currentTimeMillis();
+        long arrivalsEnd = length.toMillis();
+        for (int i = 0; i < patterns.size(); i++) {
+            scheduleArrival(i, 0, arrivalsEnd);
+        }
+        schedule(0, DISPATCH, 0);
+        while (!queue.isEmpty()) {
+            Event event = queue.poll();
+            if (event.atMillis() > arrivalsEnd + DRAIN_MILLIS)
+                break;
+            now = event.atMillis();
+            events++;
+            switch (event.kind()) {
+                case CAR_MOVE -> moveCar(event.target());
+                case ARRIVAL -> arrive(event.target(), arrivalsEnd);
+                case DISPATCH -> dispatchPass(arrivalsEnd);
+                default -> throw new IllegalStateException("Unknown event " + event.kind());
+            }
+        }
+
+        int unfinished = waiting.values().stream().mapToInt(ArrayDeque::size).sum()
+                + riders.stream().mapToInt(List::size).sum();
+        List<String> names = patterns.stream().map(TrafficPattern::getName).toList();
+        return new Report(names, sorted(waits), sorted(rides), unfinished, dispatcher.getReassignments(), events,
+                System.currentTimeMillis() - started);
+    }
+
+    private void arrive(int pattern, long arrivalsEnd) {
+        int[] trip = patterns.get(pattern).trip(randoms[pattern], floors);
+        Direction direction = trip[1] > trip[0] ? Direction.UP : Direction.DOWN;
+        waiting.computeIfAbsent(key(trip[0], direction), k -> new ArrayDeque<>())
+                .add(new Passenger(pattern, trip[1], now));
+        if (leftBehindBy.containsKey(key(trip[0], direction))) {
+            scheduleArrival(pattern, now, arrivalsEnd);
+            return; // the button is pressed again once the full car has gone
+        }
+        HallCallDispatcher.HallCall call = dispatcher.call(trip[0], direction);
+        // a parked car already at the floor takes the call without a stop
+        if (call.getAssigned() != null)
+            board(dispatcher.servedAt(call.getAssigned()));
+        wakeParkedCars();
+        scheduleArrival(pattern, now, arrivalsEnd);
+    }
+
+    private void moveCar(int index) {
+        carScheduled[index] = false;
+        Elevator car = cars.get(index);
+        int stopsBefore = pendingStops(car);
+        car.move();
+        boolean stopped = pendingStops(car) < stopsBefore;
+        if (stopped)
+            alight(index, car.getCurrentFloor());
+        board(dispatcher.servedAt(car));
+        if (!carScheduled[index] && (car.hasPendingRequests() || car.getDirection() != Direction.IDLE))
+            scheduleCar(index, floorMillis + (stopped ? doorMillis : 0));
+    }
+
+    // Picks up what the car-by-car checks miss (a dropped call, a car parked on the floor) and reassigns.
+    // Passengers left behind by a full car press the button again here, once that car has pulled away;
+    // pressing while it still stands at the floor would only hand the call straight back to it.
+    private void dispatchPass(long arrivalsEnd) {
+        board(dispatcher.update());
+        for (Map.Entry<Integer, ArrayDeque<Passenger>> entry : waiting.entrySet()) {
+            int floor = entry.getKey() / 2;
+            Elevator full = leftBehindBy.get(entry.getKey());
+            if (full != null && full.getCurrentFloor() == floor)
+                continue;
+            leftBehindBy.remove(entry.getKey());
+            if (!entry.getValue().isEmpty())
+                dispatcher.call(floor, entry.getKey() % 2 == 0 ? Direction.UP : Direction.DOWN);
+        }
+        wakeParkedCars();
+        if (now < arrivalsEnd || dispatcher.getWaitingCalls() > 0 || riders.stream().anyMatch(list -> !list.isEmpty()))
+            schedule(now + dispatchEveryMillis, DISPATCH, 0);
+    }
+
+    private void board(List<HallCallDispatcher.HallCall> served) {
+        for (HallCallDispatcher.HallCall call : served) {
+            ArrayDeque<Passenger> queue = waiting.get(key(call.getFloor(), call.getDirection()));
+            Elevator car = call.getAssigned();
+            int index = cars.indexOf(car);
+            List<Passenger> inside = riders.get(index);
+            boolean boarded = false;
+            while (queue != null && !queue.isEmpty() && inside.size() < capacity) {
+                Passenger passenger = queue.poll();
+                passenger.boardedAtMillis = now;
+                waits.get(passenger.pattern).add(now - passenger.arrivedAtMillis);
+                inside.add(passenger);
+                car.addRequest(new Request(passenger.destination, Direction.IDLE, RequestSource.INTERNAL));
+                boarded = true;
+            }
+            if (queue != null && !queue.isEmpty())
+                leftBehindBy.put(key(call.getFloor(), call.getDirection()), car);
+            if (boarded && !carScheduled[index])
+                scheduleCar(index, doorMillis + floorMillis);
+        }
+    }
+
+    private void alight(int index, int floor) {
+        Elevator car = cars.get(index);
+        if (car.hasCabinCall(floor))
+            return;
+        Iterator<Passenger> iterator = riders.get(index).iterator();
+        while (iterator.hasNext()) {
+            Passenger passenger = iterator.next();
+            if (passenger.destination == floor) {
+                iterator.remove();
+                rides.get(passenger.pattern).add(now - passenger.boardedAtMillis);
+            }
+        }
+    }
+
+    private void wakeParkedCars() {
+        for (int i = 0; i < cars.size(); i++) {
+            if (!carScheduled[i] && cars.get(i).hasPendingRequests())
+                scheduleCar(i, floorMillis);
+        }
+    }
+
+    private void scheduleCar(int index, long delayMillis) {
+        carScheduled[index] = true;
+        schedule(now + delayMillis, CAR_MOVE, index);
+    }
+
+    private void scheduleArrival(int pattern, long afterMillis, long arrivalsEnd) {
+        long at = patterns.get(pattern).nextArrivalMillis(randoms[pattern], afterMillis, arrivalsEnd);
+        if (at != Long.MAX_VALUE)
+            schedule(at, ARRIVAL, pattern);
+    }
+
+    private void schedule(long atMillis, int kind, int target) {
+        queue.add(new Event(atMillis, seq++, kind, target));
+    }
+
+    private int pendingStops(Elevator car) {
+        StopMap stops = car.getStops();
+        return stops.count(Direction.UP, 0, floors) + stops.count(Direction.DOWN, 0, floors);
+    }
+
+    private static int key(int floor, Direction direction) {
+        return floor * 2 + (direction == Direction.DOWN ? 1 : 0);
+    }
+
+    private static long[][] sorted(List<List<Long>> samples) {
+        long[][] result = new long[samples.size()][];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = samples.get(i).stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+        return result;
+    }
+
+    // A working day in an office tower: a morning up-peak, an evening down-peak and inter-floor trips in
+    // between, sized at perFloor people per upper floor. Every dispatch policy replays the same passengers.
+    public static void main(String[] args) {
+        int floors = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int cars = args.length > 1 ? Integer.parseInt(args[1]) : 12;
+        int hours = args.length > 2 ? Integer.parseInt(args[2]) : 24;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+        int perFloor = args.length > 4 ? Integer.parseInt(args[4]) : 20;
+
+        int population = perFloor * (floors - 1);
+        long hour = Duration.ofHours(1).toMillis();
+        List<TrafficPattern> day = List.of(
+                TrafficPattern.upPeak(population, 8 * hour + hour / 2, 40 * 60_000L),
+                TrafficPattern.downPeak(population, 17 * hour + hour / 2, 45 * 60_000L),
+                TrafficPattern.interFloor(population, 9 * hour, 17 * hour));
+        Duration floorTime = Duration.ofMillis(1500);
+        Duration doorTime = Duration.ofSeconds(5);
+        int capacity = 16;
+        EtaElevatorStrategy eta = new EtaElevatorStrategy(floorTime, doorTime);
+
+        System.out.printf("floors=%d cars=%d hours=%d seed=%d population=%d capacity=%d%n",
+                floors, cars, hours, seed, population, capacity);
+        PrintStream console = System.out;
+        // cars and the dispatcher log every request and stop; keep that off the console while running
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            new ElevatorSimulation(floors, cars, new NearestElevatorStrategy(), null, day, floorTime, doorTime,
+                    capacity, seed).run(Duration.ofHours(hours)).print(console, "nearest car");
+            new ElevatorSimulation(floors, cars, eta, null, day, floorTime, doorTime, capacity, seed)
+                    .run(Duration.ofHours(hours)).print(console, "minimum ETA");
+            new ElevatorSimulation(floors, cars, eta, eta, day, floorTime, doorTime, capacity, seed)
+                    .run(Duration.ofHours(hours)).print(console, "minimum ETA + reassignment");
+        } finally {
+            System.setOut(console);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package DesignElevator;
+
+interface ElevatorState {
+    void move(Elevator elevator);
+    void addRequest(Elevator elevator, Request request);
+    Direction getDirection();
+}
@@ -0,0 +1,113 @@
+package DesignElevator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+class ElevatorSystem {
+    private static ElevatorSystem instance;
+
+    private final Map<Integer, Elevator> elevators;
+    private static final Duration FLOOR_TIME = Duration.ofSeconds(1); // one floor per tick
+    private static final Duration DOOR_TIME = Duration.ZERO; // a stop here costs no extra tick
+
+    private final HallCallDispatcher dispatcher;
+    private final ElevatorScheduler scheduler;
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private ElevatorSystem(int numElevators) {
+        this.scheduler = new ElevatorScheduler(Math.min(numElevators, Runtime.getRuntime().availableProcessors()), FLOOR_TIME);
+
+        List<Elevator> elevatorList = new ArrayList<>();
+        ElevatorDisplay elevatorDisplay = new ElevatorDisplay(); // Create the observer
+
+        for (int i = 1; i <= numElevators; i++) {
+            Elevator elevator = new Elevator(i);
+            elevator.addObserver(elevatorDisplay); // Attach the observer
+            elevatorList.add(elevator);
+        }
+
+        this.elevators = elevatorList.stream().collect(Collectors.toMap(Elevator::getId, e -> e));
+        EtaElevatorStrategy eta = new EtaElevatorStrategy(FLOOR_TIME, DOOR_TIME);
+        this.dispatcher = new HallCallDispatcher(elevatorList, eta, eta, FLOOR_TIME.multipliedBy(3), System::currentTimeMillis);
+    }
+
+    public static synchronized ElevatorSystem getInstance(int numElevators) {
+        if (instance == null) {
+            instance = new ElevatorSystem(numElevators);
+        }
+        return instance;
+    }
+
+    // Cars with requests queued before start begin moving now; the rest stay parked until called.
+    // Only the first call starts anything, so the dispatch pass is never registered twice.
+    public void start() {
+        if (!started.compareAndSet(false, true))
+            return;
+        wakeCarsWithWork();
+        // an exception escaping a periodic task would cancel every later pass, so a failed pass is logged instead
+        scheduler.every(FLOOR_TIME, () -> {
+            try {
+                dispatcher.update();
+                wakeCarsWithWork(); // a re-dispatched or reassigned call may have gone to a parked car
+            } catch (RuntimeException e) {
+                System.err.println("Dispatch pass failed: " + e);
+            }
+        });
+    }
+
+    private void wakeCarsWithWork() {
+        for (Elevator elevator : elevators.values()) {
+            if (elevator.hasPendingRequests())
+                scheduler.wake(elevator);
+        }
+    }
+
+    // --- Facade Methods ---
+
+    // EXTERNAL Request (Hall Call)
+    public void requestElevator(int floor, Direction direction) {
+        System.out.println("\n>> EXTERNAL Request: User at floor " + floor + " wants to go " + direction);
+        if (!dispatcher.servesFloor(floor)) {
+            System.err.println("Invalid floor.");
+            return;
+        }
+        // Assigned by ETA; the dispatcher may hand it to a faster car later
+        HallCallDispatcher.HallCall call = dispatcher.call(floor, direction);
+
+        if (call.getAssigned() != null) {
+            if (started.get())
+                scheduler.wake(call.getAssigned());
+        } else {
+            System.out.println("System busy, please wait.");
+        }
+    }
+
+    // INTERNAL Request (Cabin Call)
+    public void selectFloor(int elevatorId, int destinationFloor) {
+        System.out.println("\n>> INTERNAL Request: User in Elevator " + elevatorId + " selected floor " + destinationFloor);
+        Request request = new Request(destinationFloor, Direction.IDLE, RequestSource.INTERNAL);
+
+        Elevator elevator = elevators.get(elevatorId);
+        if (elevator != null && !elevator.servesFloor(destinationFloor)) {
+            System.err.println("Invalid floor.");
+        } else if (elevator != null) {
+            elevator.addRequest(request);
+            if (started.get())
+                scheduler.wake(elevator);
+        } else {
+            System.err.println("Invalid elevator ID.");
+        }
+    }
+
+    public void shutdown() {
+        System.out.println("Shutting down elevator system...");
+        for (Elevator elevator : elevators.values()) {
+            elevator.stopElevator();
+        }
+        scheduler.shutdown();
+    }
+}
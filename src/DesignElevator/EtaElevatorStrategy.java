@@ -0,0 +1,98 @@
+package DesignElevator;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+// Picks the car that can reach the hall call soonest, counting the stops already queued ahead of it.
+// A car keeps sweeping in its direction while it has stops that way (as MovingUpState/MovingDownState do),
+// so the estimate follows that sweep: straight there if the call is ahead and going the same way,
+// otherwise out to the far end of the sweep and back. Each floor costs floorMillis and each stop doorMillis.
+class EtaElevatorStrategy implements ElevatorSelectionStrategy {
+    private final long floorMillis;
+    private final long doorMillis;
+
+    public EtaElevatorStrategy(Duration floorTime, Duration doorTime) {
+        this.floorMillis = floorTime.toMillis();
+        this.doorMillis = doorTime.toMillis();
+    }
+
+    @Override
+    public Optional<Elevator> selectElevator(List<Elevator> elevators, Request request) {
+        Elevator best = null;
+        long bestEta = Long.MAX_VALUE;
+        for (Elevator elevator : elevators) {
+            long eta = estimateMillis(elevator, request.getTargetFloor(), request.getDirection());
+            if (eta < bestEta) {
+                bestEta = eta;
+                best = elevator;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    public long estimateMillis(Elevator elevator, int floor, Direction callDirection) {
+        StopMap stops = elevator.getStops();
+        int current = elevator.getCurrentFloor();
+        Direction sweep = elevator.getDirection();
+        if (sweep == Direction.IDLE)
+            sweep = !stops.isEmpty(Direction.UP) ? Direction.UP : !stops.isEmpty(Direction.DOWN) ? Direction.DOWN : Direction.IDLE;
+        if (sweep == Direction.IDLE)
+            return Math.abs(current - floor) * floorMillis;
+
+        int floorsTravelled;
+        int stopsMade;
+        // a stop at the call's own floor is where the call gets served, not a delay on the way there;
+        // counting it would make whichever car holds the call look slower than every other car
+        int upHere = stops.contains(floor, Direction.UP) ? 1 : 0;
+        int downHere = stops.contains(floor, Direction.DOWN) ? 1 : 0;
+        int totalStops = stops.count(Direction.UP, 0, stops.floors() - 1) + stops.count(Direction.DOWN, 0, stops.floors() - 1)
+                - upHere - downHere;
+        if (sweep == Direction.UP) {
+            if (floor >= current && callDirection != Direction.DOWN) {
+                floorsTravelled = floor - current;
+                stopsMade = stops.count(Direction.UP, current, floor - 1);
+            } else {
+                int top = Math.max(current, Math.max(stops.highest(Direction.UP), stops.highest(Direction.DOWN)));
+                if (callDirection == Direction.DOWN)
+                    top = Math.max(top, floor);
+                if (floor <= top && callDirection != Direction.UP) {
+                    floorsTravelled = (top - current) + (top - floor);
+                    stopsMade = stops.count(Direction.UP, current, top) - (floor >= current ? upHere : 0)
+                            + stops.count(Direction.DOWN, floor + 1, top);
+                } else {
+                    int bottom = Math.min(floor, lowestStop(stops));
+                    floorsTravelled = (top - current) + (top - bottom) + (floor - bottom);
+                    stopsMade = totalStops;
+                }
+            }
+        } else {
+            if (floor <= current && callDirection != Direction.UP) {
+                floorsTravelled = current - floor;
+                stopsMade = stops.count(Direction.DOWN, floor + 1, current);
+            } else {
+                int bottom = Math.min(current, lowestStop(stops));
+                if (callDirection == Direction.UP)
+                    bottom = Math.min(bottom, floor);
+                if (floor >= bottom && callDirection != Direction.DOWN) {
+                    floorsTravelled = (current - bottom) + (floor - bottom);
+                    stopsMade = stops.count(Direction.DOWN, bottom, current) - (floor <= current ? downHere : 0)
+                            + stops.count(Direction.UP, bottom, floor - 1);
+                } else {
+                    int top = Math.max(floor, Math.max(stops.highest(Direction.UP), stops.highest(Direction.DOWN)));
+                    floorsTravelled = (current - bottom) + (top - bottom) + (top - floor);
+                    stopsMade = totalStops;
+                }
+            }
+        }
+        return floorsTravelled * floorMillis + stopsMade * doorMillis;
+    }
+
+    private static int lowestStop(StopMap stops) {
+        int up = stops.lowest(Direction.UP);
+        int down = stops.lowest(Direction.DOWN);
+        if (up < 0)
+            return down < 0 ? Integer.MAX_VALUE : down;
+        return down < 0 ? up : Math.min(up, down);
+    }
+}
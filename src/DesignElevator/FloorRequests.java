@@ -0,0 +1,38 @@
+package DesignElevator;
+
+// One direction of a car's StopMap, ordered the way the car serves it: going up the first stop is the
+// lowest floor, going down it is the highest.
+class FloorRequests {
+    private final StopMap stops;
+    private final Direction direction;
+
+    FloorRequests(StopMap stops, Direction direction) {
+        this.stops = stops;
+        this.direction = direction;
+    }
+
+    public void add(int floor) {
+        stops.add(floor, direction);
+    }
+
+    public boolean isEmpty() {
+        return stops.isEmpty(direction);
+    }
+
+    // next floor to serve in this direction, or -1 when there is none
+    public int first() {
+        return direction == Direction.UP ? stops.lowest(direction) : stops.highest(direction);
+    }
+
+    public boolean remove(int floor) {
+        return stops.remove(floor, direction);
+    }
+
+    public int pollFirst() {
+        while (true) {
+            int floor = first();
+            if (floor < 0 || stops.remove(floor, direction))
+                return floor;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package DesignElevator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+// Keeps track of hall calls after they are handed to a car, so a call can move when things change.
+// Every update() pass: calls whose car has stopped at their floor are finished; calls a car did not take
+// (a moving car ignores a hall call behind it) are dispatched again; and a call is moved to another car
+// when that car would now get there sooner by more than the reassignment margin.
+class HallCallDispatcher {
+    static final class HallCall {
+        private final int floor;
+        private final Direction direction;
+        private final long registeredAtMillis;
+        private Elevator assigned;
+        // which of the car's stop bits this call rides on; null when the car took no stop for it
+        private Direction stopDirection;
+
+        HallCall(int floor, Direction direction, long registeredAtMillis) {
+            this.floor = floor;
+            this.direction = direction;
+            this.registeredAtMillis = registeredAtMillis;
+        }
+
+        public int getFloor() { return floor; }
+        public Direction getDirection() { return direction; }
+        public long getRegisteredAtMillis() { return registeredAtMillis; }
+        public Elevator getAssigned() { return assigned; }
+    }
+
+    private final List<Elevator> elevators;
+    private final ElevatorSelectionStrategy selectionStrategy;
+    private final EtaElevatorStrategy eta; // null: never reassign
+    private final long reassignMarginMillis;
+    private final LongSupplier clockMillis;
+    private final Map<Integer, HallCall> calls = new LinkedHashMap<>();
+    private long reassignments;
+
+    public HallCallDispatcher(List<Elevator> elevators, ElevatorSelectionStrategy selectionStrategy, EtaElevatorStrategy eta,
+                              Duration reassignMargin, LongSupplier clockMillis) {
+        this.elevators = List.copyOf(elevators);
+        this.selectionStrategy = selectionStrategy;
+        this.eta = eta;
+        this.reassignMarginMillis = reassignMargin.toMillis();
+        this.clockMillis = clockMillis;
+    }
+
+    // every car can stop there, so a waiting call can always be dispatched again
+    public boolean servesFloor(int floor) {
+        for (Elevator elevator : elevators) {
+            if (!elevator.servesFloor(floor))
+                return false;
+        }
+        return true;
+    }
+
+    // A second press of the same button joins the call already waiting. The call is only kept once it has been
+    // dispatched, so a bad floor cannot be left in the map to fail every later update().
+    public synchronized HallCall call(int floor, Direction direction) {
+        if (!servesFloor(floor))
+            throw new IllegalArgumentException("No car stops at floor " + floor);
+        HallCall call = calls.get(key(floor, direction));
+        if (call == null) {
+            call = new HallCall(floor, direction, clockMillis.getAsLong());
+            dispatch(call);
+            calls.put(key(floor, direction), call);
+        }
+        return call;
+    }
+
+    // Returns the calls that were served since the last pass.
+    public synchronized List<HallCall> update() {
+        List<HallCall> served = new ArrayList<>();
+        Iterator<HallCall> iterator = calls.values().iterator();
+        while (iterator.hasNext()) {
+            HallCall call = iterator.next();
+            if (call.assigned == null) {
+                dispatch(call);
+            } else if (isServed(call)) {
+                iterator.remove();
+                served.add(call);
+            } else if (!stillQueued(call)) {
+                dispatch(call);
+            } else if (eta != null) {
+                reassignIfFaster(call);
+            }
+        }
+        return served;
+    }
+
+    // The calls at this car's floor that it has just stopped for. Lets an event-driven caller settle them
+    // straight after the car moves rather than on the next update() pass, by which time the car may have left.
+    public synchronized List<HallCall> servedAt(Elevator car) {
+        List<HallCall> served = new ArrayList<>(2);
+        for (Direction direction : new Direction[]{Direction.UP, Direction.DOWN}) {
+            int key = key(car.getCurrentFloor(), direction);
+            HallCall call = calls.get(key);
+            if (call != null && call.assigned == car && isServed(call)) {
+                calls.remove(key);
+                served.add(call);
+            }
+        }
+        return served;
+    }
+
+    public synchronized int getWaitingCalls() {
+        return calls.size();
+    }
+
+    public synchronized long getReassignments() {
+        return reassignments;
+    }
+
+    private void dispatch(HallCall call) {
+        Request request = new Request(call.floor, call.direction, RequestSource.EXTERNAL);
+        Optional<Elevator> car = selectionStrategy.selectElevator(elevators, request);
+        call.assigned = null;
+        call.stopDirection = null;
+        car.ifPresent(elevator -> assign(call, elevator));
+    }
+
+    // The car's state decides which stop bit a hall call lands in (an idle car files every call by where
+    // it is relative to the car), so look at which bit the request actually set.
+    private void assign(HallCall call, Elevator car) {
+        StopMap stops = car.getStops();
+        boolean hadUp = stops.contains(call.floor, Direction.UP);
+        boolean hadDown = stops.contains(call.floor, Direction.DOWN);
+        car.addRequest(new Request(call.floor, call.direction, RequestSource.EXTERNAL));
+        call.assigned = car;
+        if (!hadUp && stops.contains(call.floor, Direction.UP))
+            call.stopDirection = Direction.UP;
+        else if (!hadDown && stops.contains(call.floor, Direction.DOWN))
+            call.stopDirection = Direction.DOWN;
+        else if (stops.contains(call.floor, call.direction))
+            call.stopDirection = call.direction;
+        else if (stops.contains(call.floor, opposite(call.direction)))
+            call.stopDirection = opposite(call.direction);
+        else
+            call.stopDirection = null;
+    }
+
+    private boolean isServed(HallCall call) {
+        if (call.stopDirection != null && call.assigned.getStops().contains(call.floor, call.stopDirection))
+            return false;
+        return call.assigned.getCurrentFloor() == call.floor;
+    }
+
+    // False when the car dropped the call; follows the stop if the car moved it to its other direction.
+    private boolean stillQueued(HallCall call) {
+        StopMap stops = call.assigned.getStops();
+        if (call.stopDirection != null && stops.contains(call.floor, call.stopDirection))
+            return true;
+        if (stops.contains(call.floor, opposite(call.stopDirection == null ? call.direction : call.stopDirection))) {
+            call.stopDirection = opposite(call.stopDirection == null ? call.direction : call.stopDirection);
+            return true;
+        }
+        return false;
+    }
+
+    private void reassignIfFaster(HallCall call) {
+        long current = eta.estimateMillis(call.assigned, call.floor, call.direction);
+        Elevator best = null;
+        long bestEta = current - reassignMarginMillis;
+        for (Elevator elevator : elevators) {
+            if (elevator == call.assigned)
+                continue;
+            long candidate = eta.estimateMillis(elevator, call.floor, call.direction);
+            if (candidate < bestEta) {
+                bestEta = candidate;
+                best = elevator;
+            }
+        }
+        if (best == null)
+            return;
+        Elevator previous = call.assigned;
+        // leave the stop if a rider inside, or the floor's other call, still needs it
+        HallCall other = calls.get(key(call.floor, opposite(call.direction)));
+        boolean shared = other != null && other.assigned == previous && other.stopDirection == call.stopDirection;
+        if (call.stopDirection != null && !shared && !previous.hasCabinCall(call.floor)
+                && previous.getStops().remove(call.floor, call.stopDirection)) {
+            // Elevator.addRequest takes no lock, so a rider may have pressed this floor since the check. It
+            // marks the cabin call before adding the stop, so one marked by now is seen here and its stop put
+            // back, and one marked later adds its stop after the remove.
+            if (previous.hasCabinCall(call.floor))
+                previous.getStops().add(call.floor, call.stopDirection);
+        }
+        assign(call, best);
+        reassignments++;
+    }
+
+    private static Direction opposite(Direction direction) {
+        return direction == Direction.UP ? Direction.DOWN : Direction.UP;
+    }
+
+    private static int key(int floor, Direction direction) {
+        return floor * 2 + (direction == Direction.DOWN ? 1 : 0);
+    }
+}
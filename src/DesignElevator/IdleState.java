@@ -0,0 +1,31 @@
+package DesignElevator;
+
+class IdleState implements ElevatorState {
+    static final IdleState INSTANCE = new IdleState();
+
+    private IdleState() {
+    }
+
+    @Override
+    public void move(Elevator elevator) {
+        if (!elevator.getUpRequests().isEmpty()) {
+            elevator.setState(MovingUpState.INSTANCE);
+        } else if (!elevator.getDownRequests().isEmpty()) {
+            elevator.setState(MovingDownState.INSTANCE);
+        }
+        // Else stay idle
+    }
+
+    @Override
+    public void addRequest(Elevator elevator, Request request) {
+        if (request.getTargetFloor() > elevator.getCurrentFloor()) {
+            elevator.getUpRequests().add(request.getTargetFloor());
+        } else if (request.getTargetFloor() < elevator.getCurrentFloor()) {
+            elevator.getDownRequests().add(request.getTargetFloor());
+        }
+        // If request is for current floor, doors would open (handled implicitly by moving to that floor)
+    }
+
+    @Override
+    public Direction getDirection() { return Direction.IDLE; }
+}
@@ -0,0 +1,74 @@
+package DesignElevator;
+
+class MovingUpState implements ElevatorState {
+    static final MovingUpState INSTANCE = new MovingUpState();
+
+    private MovingUpState() {
+    }
+
+    @Override
+    public void move(Elevator elevator) {
+        // read the next stop once: a dispatcher moving a hall call away can clear it at any moment, and -1
+        // means there is nothing left this way
+        int nextFloor = elevator.getUpRequests().first();
+        if (nextFloor < 0 && extendSweep(elevator))
+            nextFloor = elevator.getUpRequests().first();
+        if (nextFloor < 0) {
+            elevator.setState(IdleState.INSTANCE);
+            return;
+        }
+
+        // a stop added from another thread just as the car passed it is below us now; serve it going down
+        if (nextFloor < elevator.getCurrentFloor()) {
+            if (elevator.getUpRequests().remove(nextFloor))
+                elevator.getDownRequests().add(nextFloor);
+            return;
+        }
+        if (nextFloor > elevator.getCurrentFloor())
+            elevator.setCurrentFloor(elevator.getCurrentFloor() + 1);
+
+        if (elevator.getCurrentFloor() == nextFloor) {
+            System.out.println("Elevator " + elevator.getId() + " stopped at floor " + nextFloor);
+            elevator.getUpRequests().remove(nextFloor);
+            elevator.clearCabinCall(nextFloor);
+        }
+
+        if (elevator.getUpRequests().isEmpty() && !extendSweep(elevator)) {
+            elevator.setState(IdleState.INSTANCE);
+        }
+    }
+
+    // A down call above the car is where this sweep turns around, so the car keeps going up to it rather
+    // than stopping short and coming back for it after serving the rest of its stops.
+    private static boolean extendSweep(Elevator elevator) {
+        int turn = elevator.getStops().highest(Direction.DOWN);
+        if (turn <= elevator.getCurrentFloor())
+            return false;
+        elevator.getUpRequests().add(turn);
+        elevator.getStops().remove(turn, Direction.DOWN);
+        return true;
+    }
+
+    @Override
+    public void addRequest(Elevator elevator, Request request) {
+        // Internal requests always get added to the appropriate queue
+        if (request.getSource() == RequestSource.INTERNAL) {
+            if (request.getTargetFloor() > elevator.getCurrentFloor()) {
+                elevator.getUpRequests().add(request.getTargetFloor());
+            } else {
+                elevator.getDownRequests().add(request.getTargetFloor());
+            }
+            return;
+        }
+
+        // External requests
+        if (request.getDirection() == Direction.UP && request.getTargetFloor() >= elevator.getCurrentFloor()) {
+            elevator.getUpRequests().add(request.getTargetFloor());
+        } else if (request.getDirection() == Direction.DOWN) {
+            elevator.getDownRequests().add(request.getTargetFloor());
+        }
+    }
+
+    @Override
+    public Direction getDirection() { return Direction.UP; }
+}
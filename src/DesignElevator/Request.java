@@ -0,0 +1,31 @@
+package DesignElevator;
+
+class Request {
+    private final int targetFloor;
+    private final Direction direction; // Primarily for External requests
+    private final RequestSource source;
+
+    public Request(int targetFloor, Direction direction, RequestSource source) {
+        this.targetFloor = targetFloor;
+        this.direction = direction;
+        this.source = source;
+    }
+
+    public int getTargetFloor() {
+        return targetFloor;
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    public RequestSource getSource() {
+        return source;
+    }
+
+    @Override
+    public String toString() {
+        return source + " Request to floor " + targetFloor +
+                (source == RequestSource.EXTERNAL ? " going " + direction : "");
+    }
+}
@@ -0,0 +1,6 @@
+package DesignElevator;
+
+enum RequestSource {
+    INTERNAL, // From inside the cabin
+    EXTERNAL  // From the hall/floor
+}
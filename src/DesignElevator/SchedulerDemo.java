@@ -0,0 +1,86 @@
+package DesignElevator;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Drives many cars from one ElevatorScheduler with a few threads and reports how far the cars fall behind
+// their ideal one-floor-per-tick schedule. Every car gets a handful of cabin calls at once, so all of them
+// are moving together; a car that is late by much more than a tick means the threads could not keep up.
+// usage: java DesignElevator.SchedulerDemo [cars] [threads] [tickMillis] [floors] [stopsPerCar]
+public class SchedulerDemo {
+    // records each car's moves and when it last changed, i.e. when it parked once the run is over
+    private static final class Progress implements ElevatorObserver {
+        private int lastFloor = 1;
+        private volatile int moves;
+        private volatile long lastChangeNanos;
+
+        @Override
+        public void update(Elevator elevator) {
+            if (elevator.getCurrentFloor() != lastFloor) {
+                lastFloor = elevator.getCurrentFloor();
+                moves++;
+            }
+            lastChangeNanos = System.nanoTime();
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int cars = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        long tickMillis = args.length > 2 ? Long.parseLong(args[2]) : 100;
+        int floors = args.length > 3 ? Integer.parseInt(args[3]) : 50;
+        int stopsPerCar = args.length > 4 ? Integer.parseInt(args[4]) : 5;
+
+        System.out.printf("cars=%d threads=%d tick=%dms floors=%d stops/car=%d%n", cars, threads, tickMillis, floors, stopsPerCar);
+        Random random = new Random(42);
+        List<Elevator> elevators = new ArrayList<>(cars);
+        List<Progress> progress = new ArrayList<>(cars);
+        PrintStream console = System.out;
+        // cars log every request and stop; keep that off the console while running
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        ElevatorScheduler scheduler = new ElevatorScheduler(threads, Duration.ofMillis(tickMillis));
+        long startNanos;
+        long schedulerThreads;
+        try {
+            for (int i = 1; i <= cars; i++) {
+                Elevator elevator = new Elevator(i, floors + 1);
+                for (int s = 0; s < stopsPerCar; s++)
+                    elevator.addRequest(new Request(2 + random.nextInt(floors - 1), Direction.IDLE, RequestSource.INTERNAL));
+                Progress observer = new Progress();
+                elevator.addObserver(observer);
+                elevators.add(elevator);
+                progress.add(observer);
+            }
+            startNanos = System.nanoTime();
+            for (Elevator elevator : elevators)
+                scheduler.wake(elevator);
+            while (elevators.stream().anyMatch(e -> e.hasPendingRequests() || e.getDirection() != Direction.IDLE))
+                Thread.sleep(tickMillis);
+            schedulerThreads = Thread.getAllStackTraces().keySet().stream()
+                    .filter(t -> t.getName().startsWith("elevator-scheduler-")).count();
+        } finally {
+            scheduler.shutdown();
+            System.setOut(console);
+        }
+
+        long totalMoves = 0;
+        double worstLagMillis = 0;
+        double lastParkedMillis = 0;
+        for (Progress car : progress) {
+            totalMoves += car.moves;
+            double parkedMillis = (car.lastChangeNanos - startNanos) / 1e6;
+            // a car needs a tick per floor, plus one to leave idle and one to reach idle again
+            double idealMillis = (car.moves + 2) * tickMillis;
+            worstLagMillis = Math.max(worstLagMillis, parkedMillis - idealMillis);
+            lastParkedMillis = Math.max(lastParkedMillis, parkedMillis);
+        }
+        System.out.printf("%d floor moves in %.2fs (%.0f moves/s) on %d scheduler threads%n",
+                totalMoves, lastParkedMillis / 1000, totalMoves / (lastParkedMillis / 1000), schedulerThreads);
+        System.out.printf("worst car finished %.0fms behind its ideal schedule (%.1f ticks)%n",
+                worstLagMillis, worstLagMillis / tickMillis);
+    }
+}
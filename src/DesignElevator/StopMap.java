@@ -0,0 +1,96 @@
+package DesignElevator;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Pending stops for one car, two bits per floor (low bit: stop going up, high bit: stop going down),
+// 32 floors to a word. Adding or clearing a stop is a CAS on one word, so hall calls, cabin calls and the
+// car's own tick never take a lock, and the next stop is a zero-count over a couple of words.
+class StopMap {
+    private static final long UP_BITS = 0x5555_5555_5555_5555L;
+    private static final long DOWN_BITS = UP_BITS << 1;
+
+    private final AtomicLongArray words;
+    private final int floors;
+
+    StopMap(int floors) {
+        this.floors = floors;
+        this.words = new AtomicLongArray((floors + 31) / 32);
+    }
+
+    boolean covers(int floor) {
+        return floor >= 0 && floor < floors;
+    }
+
+    void add(int floor, Direction direction) {
+        if (!covers(floor))
+            throw new IllegalArgumentException("Floor " + floor + " is outside 0.." + (floors - 1));
+        long bit = bit(floor, direction);
+        words.getAndUpdate(floor >> 5, word -> word | bit);
+    }
+
+    boolean remove(int floor, Direction direction) {
+        long bit = bit(floor, direction);
+        return (words.getAndUpdate(floor >> 5, word -> word & ~bit) & bit) != 0;
+    }
+
+    boolean contains(int floor, Direction direction) {
+        long bit = bit(floor, direction);
+        return (words.get(floor >> 5) & bit) != 0;
+    }
+
+    // stops in the given direction on floors from..to inclusive
+    int count(Direction direction, int from, int to) {
+        from = Math.max(from, 0);
+        to = Math.min(to, floors - 1);
+        if (from > to)
+            return 0;
+        long directionBits = direction == Direction.UP ? UP_BITS : DOWN_BITS;
+        int total = 0;
+        for (int i = from >> 5; i <= to >> 5; i++) {
+            int low = i == from >> 5 ? (from & 31) << 1 : 0;
+            int high = i == to >> 5 ? ((to & 31) << 1) + 1 : 63;
+            long range = (-1L << low) & (-1L >>> (63 - high));
+            total += Long.bitCount(words.get(i) & range & directionBits);
+        }
+        return total;
+    }
+
+    int floors() {
+        return floors;
+    }
+
+    boolean isEmpty(Direction direction) {
+        long mask = direction == Direction.UP ? UP_BITS : DOWN_BITS;
+        for (int i = 0; i < words.length(); i++) {
+            if ((words.get(i) & mask) != 0)
+                return false;
+        }
+        return true;
+    }
+
+    // lowest floor with a stop in the given direction, or -1
+    int lowest(Direction direction) {
+        long mask = direction == Direction.UP ? UP_BITS : DOWN_BITS;
+        for (int i = 0; i < words.length(); i++) {
+            long word = words.get(i) & mask;
+            if (word != 0)
+                return (i << 5) + (Long.numberOfTrailingZeros(word) >> 1);
+        }
+        return -1;
+    }
+
+    // highest floor with a stop in the given direction, or -1
+    int highest(Direction direction) {
+        long mask = direction == Direction.UP ? UP_BITS : DOWN_BITS;
+        for (int i = words.length() - 1; i >= 0; i--) {
+            long word = words.get(i) & mask;
+            if (word != 0)
+                return (i << 5) + ((63 - Long.numberOfLeadingZeros(word)) >> 1);
+        }
+        return -1;
+    }
+
+    private static long bit(int floor, Direction direction) {
+        return 1L << (((floor & 31) << 1) + (direction == Direction.DOWN ? 1 : 0));
+    }
+}
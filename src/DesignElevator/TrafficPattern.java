@@ -0,0 +1,163 @@
+package DesignElevator;
+
+import java.util.Random;
+
+// One stream of passengers for the simulator: how fast they show up at each time of day, and where each
+// one goes. Arrivals are a Poisson process whose rate follows ratePerSecond(); nextArrivalMillis() samples
+// it by thinning against peakRatePerSecond(), so any rate profile works as long as it stays under the peak.
+abstract class TrafficPattern {
+    static final int LOBBY = 1;
+    private static final double SQRT_TWO_PI = Math.sqrt(2 * Math.PI);
+
+    private final String name;
+
+    TrafficPattern(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    abstract double ratePerSecond(long millisOfDay);
+
+    abstract double peakRatePerSecond();
+
+    // {origin, destination} on floors LOBBY..floors
+    abstract int[] trip(Random random, int floors);
+
+    // next arrival strictly after the given time, or Long.MAX_VALUE if none comes before the end
+    long nextArrivalMillis(Random random, long afterMillis, long endMillis) {
+        double peak = peakRatePerSecond();
+        if (peak <= 0)
+            return Long.MAX_VALUE;
+        double t = afterMillis;
+        while (true) {
+            t += -Math.log(1 - random.nextDouble()) / peak * 1000;
+            if (t >= endMillis)
+                return Long.MAX_VALUE;
+            if (random.nextDouble() * peak < ratePerSecond((long) t))
+                return Math.max(afterMillis + 1, (long) t);
+        }
+    }
+
+    static TrafficPattern upPeak(int passengers, long peakAtMillis, long spreadMillis) {
+        return new UpPeak(passengers, peakAtMillis, spreadMillis);
+    }
+
+    static TrafficPattern downPeak(int passengers, long peakAtMillis, long spreadMillis) {
+        return new DownPeak(passengers, peakAtMillis, spreadMillis);
+    }
+
+    static TrafficPattern interFloor(int passengers, long fromMillis, long toMillis) {
+        return new InterFloor(passengers, fromMillis, toMillis);
+    }
+
+    // rate of a bell curve holding `passengers` arrivals, centred on peakAtMillis
+    static double bell(int passengers, long peakAtMillis, long spreadMillis, long millis) {
+        double sigma = spreadMillis / 1000.0;
+        double z = (millis - peakAtMillis) / 1000.0 / sigma;
+        return passengers / (sigma * SQRT_TWO_PI) * Math.exp(-z * z / 2);
+    }
+
+    static int upperFloor(Random random, int floors) {
+        return LOBBY + 1 + random.nextInt(floors - LOBBY);
+    }
+
+    // Morning arrivals: everyone starts at the lobby and goes to an upper floor.
+    private static final class UpPeak extends TrafficPattern {
+        private final int passengers;
+        private final long peakAtMillis;
+        private final long spreadMillis;
+
+        UpPeak(int passengers, long peakAtMillis, long spreadMillis) {
+            super("up-peak");
+            this.passengers = passengers;
+            this.peakAtMillis = peakAtMillis;
+            this.spreadMillis = spreadMillis;
+        }
+
+        @Override
+        double ratePerSecond(long millisOfDay) {
+            return bell(passengers, peakAtMillis, spreadMillis, millisOfDay);
+        }
+
+        @Override
+        double peakRatePerSecond() {
+            return bell(passengers, peakAtMillis, spreadMillis, peakAtMillis);
+        }
+
+        @Override
+        int[] trip(Random random, int floors) {
+            return new int[]{LOBBY, upperFloor(random, floors)};
+        }
+    }
+
+    // Evening departures: everyone goes from an upper floor down to the lobby.
+    private static final class DownPeak extends TrafficPattern {
+        private final int passengers;
+        private final long peakAtMillis;
+        private final long spreadMillis;
+
+        DownPeak(int passengers, long peakAtMillis, long spreadMillis) {
+            super("down-peak");
+            this.passengers = passengers;
+            this.peakAtMillis = peakAtMillis;
+            this.spreadMillis = spreadMillis;
+        }
+
+        @Override
+        double ratePerSecond(long millisOfDay) {
+            return bell(passengers, peakAtMillis, spreadMillis, millisOfDay);
+        }
+
+        @Override
+        double peakRatePerSecond() {
+            return bell(passengers, peakAtMillis, spreadMillis, peakAtMillis);
+        }
+
+        @Override
+        int[] trip(Random random, int floors) {
+            return new int[]{upperFloor(random, floors), LOBBY};
+        }
+    }
+
+    // Trips between upper floors at a steady rate through the working day.
+    private static final class InterFloor extends TrafficPattern {
+        private final long fromMillis;
+        private final long toMillis;
+        private final double rate;
+
+        InterFloor(int passengers, long fromMillis, long toMillis) {
+            super("inter-floor");
+            this.fromMillis = fromMillis;
+            this.toMillis = toMillis;
+            this.rate = toMillis > fromMillis ? passengers / ((toMillis - fromMillis) / 1000.0) : 0;
+        }
+
+        @Override
+        double ratePerSecond(long millisOfDay) {
+            return millisOfDay >= fromMillis && millisOfDay < toMillis ? rate : 0;
+        }
+
+        @Override
+        double peakRatePerSecond() {
+            return rate;
+        }
+
+        @Override
+        long nextArrivalMillis(Random random, long afterMillis, long endMillis) {
+            return super.nextArrivalMillis(random, Math.max(afterMillis, fromMillis), Math.min(endMillis, toMillis));
+        }
+
+        @Override
+        int[] trip(Random random, int floors) {
+            int from = upperFloor(random, floors);
+            int to;
+            do {
+                to = upperFloor(random, floors);
+            } while (to == from);
+            return new int[]{from, to};
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package ParkingLot;
+
+import ParkingLot.entities.ParkingTicket;
+import ParkingLot.vehicles.Vehicle;
+
+public class ConsoleParkingEventListener implements ParkingEventListener {
+    @Override
+    public void onVehicleParked(ParkingTicket ticket) {
+        System.out.printf("%s parked at %s.Ticket: %d\n", ticket.getVehicle().getLicenseNumber(), ticket.getSpot().getSpotId(), ticket.getTicketId());
+    }
+
+    @Override
+    public void onParkingRejected(Vehicle vehicle) {
+        System.out.printf("No spot available for %s\n", vehicle.getLicenseNumber());
+    }
+
+    @Override
+    public void onVehicleUnparked(ParkingTicket ticket, double fee) {
+        System.out.printf("%s left spot %s. Fee: $%.2f\n", ticket.getVehicle().getLicenseNumber(), ticket.getSpot().getSpotId(), fee);
+    }
+
+    @Override
+    public void onTicketNotFound(long ticketId) {
+        System.out.println("Ticket Not found");
+    }
+}
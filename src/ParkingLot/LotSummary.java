@@ -0,0 +1,47 @@
+package ParkingLot;
+
+import ParkingLot.vehicles.VehicleSize;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// Availability of one lot as last reported to ParkingLotService; may lag the lot by one refresh interval.
+public class LotSummary {
+    private final String lotId;
+    private final double x;
+    private final double y;
+    private final Map<VehicleSize, Long> freeBySize;
+    private final LocalDateTime takenAt;
+
+    public LotSummary(String lotId, double x, double y, Map<VehicleSize, Long> freeBySize, LocalDateTime takenAt) {
+        this.lotId = lotId;
+        this.x = x;
+        this.y = y;
+        this.freeBySize = freeBySize;
+        this.takenAt = takenAt;
+    }
+
+    public String getLotId() {
+        return lotId;
+    }
+
+    public long getAvailableSpotCount(VehicleSize size) {
+        return freeBySize.get(size);
+    }
+
+    public boolean hasCapacityFor(VehicleSize vehicleSize) {
+        for (VehicleSize size : VehicleSize.values()) {
+            if (size.ordinal() >= vehicleSize.ordinal() && freeBySize.get(size) > 0)
+                return true;
+        }
+        return false;
+    }
+
+    public double distanceTo(double fromX, double fromY) {
+        return Math.hypot(x - fromX, y - fromY);
+    }
+
+    public LocalDateTime getTakenAt() {
+        return takenAt;
+    }
+}
@@ -0,0 +1,91 @@
+package ParkingLot;
+
+import ParkingLot.entities.ParkingFloor;
+import ParkingLot.entities.ParkingSpot;
+import ParkingLot.vehicles.SmallVehicle;
+import ParkingLot.vehicles.Vehicle;
+import ParkingLot.vehicles.VehicleSize;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDateTime;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+// Compares the old per-ticket work (SecureRandom-backed UUID string plus a printf) with the 64-bit
+// TicketIdGenerator, then measures full park/unpark cycles through the lot with no listeners attached.
+// usage: java ParkingLot.ParkPathBenchmark [gates] [operationsPerGate]
+public class ParkPathBenchmark {
+    private static volatile Object sink;
+
+    public static void main(String[] args) throws InterruptedException {
+        int gates = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+
+        TicketIdGenerator generator = new TicketIdGenerator();
+        for (int round = 0; round < 3; round++) {
+            report("UUID.randomUUID().toString() + printf", gates, operations, run(gates, operations, gate -> {
+                String ticketId = UUID.randomUUID().toString();
+                discard.printf("%s parked at %s.Ticket: %s\n", "B-124", 1, ticketId);
+                sink = ticketId;
+            }));
+            report("TicketIdGenerator.nextId", gates, operations, run(gates, operations, gate -> {
+                long ticketId = generator.nextId(gate);
+                if (ticketId == 0)
+                    sink = ticketId;
+            }));
+        }
+
+        ParkingLot parkingLot = ParkingLot.getInstance();
+        ParkingFloor floor = new ParkingFloor();
+        for (int s = 0; s < gates * 4; s++) {
+            floor.addSpot(new ParkingSpot(VehicleSize.SMALL));
+        }
+        parkingLot.addFloor(floor);
+        LocalDateTime leaving = LocalDateTime.now().plusHours(1);
+        for (int round = 0; round < 3; round++) {
+            report("parkVehicle + unparkVehicle", gates, operations, run(gates, operations / 4, gate -> {
+                Vehicle vehicle = new SmallVehicle("B-" + gate);
+                OptionalLong ticketId = parkingLot.parkVehicle(vehicle, gate);
+                if (ticketId.isPresent())
+                    parkingLot.unparkVehicle(ticketId.getAsLong(), leaving);
+            }));
+        }
+    }
+
+    private interface Operation {
+        void apply(int gate);
+    }
+
+    private static long run(int gates, int operations, Operation operation) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[gates];
+        for (int g = 0; g < gates; g++) {
+            int gate = g;
+            threads[g] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < operations; i++) {
+                    operation.apply(gate);
+                }
+            });
+            threads[g].start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return System.nanoTime() - begin;
+    }
+
+    private static void report(String name, int gates, int operations, long elapsedNanos) {
+        System.out.printf("%-40s %,14.0f ops/sec%n", name, (double) gates * operations * 1_000_000_000L / elapsedNanos);
+    }
+}
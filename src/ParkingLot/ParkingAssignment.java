@@ -0,0 +1,19 @@
+package ParkingLot;
+
+public class ParkingAssignment {
+    private final String lotId;
+    private final long ticketId;
+
+    public ParkingAssignment(String lotId, long ticketId) {
+        this.lotId = lotId;
+        this.ticketId = ticketId;
+    }
+
+    public String getLotId() {
+        return lotId;
+    }
+
+    public long getTicketId() {
+        return ticketId;
+    }
+}
@@ -0,0 +1,16 @@
+package ParkingLot;
+
+import ParkingLot.entities.ParkingTicket;
+import ParkingLot.vehicles.Vehicle;
+
+// Hooks for whatever should observe the gates (console, metrics, displays). Listeners run on the
+// gate's thread, so they should hand off anything slow.
+public interface ParkingEventListener {
+    default void onVehicleParked(ParkingTicket ticket) {}
+
+    default void onParkingRejected(Vehicle vehicle) {}
+
+    default void onVehicleUnparked(ParkingTicket ticket, double fee) {}
+
+    default void onTicketNotFound(long ticketId) {}
+}
@@ -1,27 +1,45 @@
 package ParkingLot;
 
+import ParkingLot.entities.DisplayBoard;
+import ParkingLot.entities.LotAvailability;
 import ParkingLot.entities.ParkingFloor;
 import ParkingLot.entities.ParkingSpot;
 import ParkingLot.entities.ParkingTicket;
+import ParkingLot.journal.ParkRecord;
+import ParkingLot.journal.TicketJournal;
 import ParkingLot.strategy.fee.BaseFareStrategy;
 import ParkingLot.strategy.fee.FareStrategy;
 import ParkingLot.strategy.parking.NearestFloorStrategy;
 import ParkingLot.strategy.parking.ParkingStrategy;
 import ParkingLot.vehicles.Vehicle;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class ParkingLot {
-    private final List<ParkingFloor> floors = new ArrayList<>();
-    private FareStrategy fareStrategy;
-    private ParkingStrategy parkingStrategy;
-    private final Map<String, ParkingTicket> activeTickets;
-    private ParkingLot(){
+    private final List<ParkingFloor> floors = new CopyOnWriteArrayList<>();
+    private volatile FareStrategy fareStrategy;
+    private volatile ParkingStrategy parkingStrategy;
+    private final Map<Long, ParkingTicket> activeTickets;
+    private final TicketIdGenerator ticketIdGenerator;
+    private final List<ParkingEventListener> eventListeners;
+    private final LotAvailability availability;
+    private final DisplayBoard displayBoard;
+    private volatile TicketJournal journal;
+    // getInstance() is the default lot; ParkingLotService creates one instance per garage
+    public ParkingLot(){
         this.fareStrategy = new BaseFareStrategy();
         this.parkingStrategy = new NearestFloorStrategy();
+        this.parkingStrategy.onAttached();
         this.activeTickets = new ConcurrentHashMap<>();
+        this.ticketIdGenerator = new TicketIdGenerator();
+        this.eventListeners = new CopyOnWriteArrayList<>();
+        this.availability = new LotAvailability();
+        this.displayBoard = new DisplayBoard(floors);
     }
 
     private static final class InstanceHolder {
@@ -32,41 +50,129 @@ public class ParkingLot {
         return InstanceHolder.instance;
     }
 
-    public void addFloor(ParkingFloor parkingFloor){
+    public synchronized void addFloor(ParkingFloor parkingFloor){
+        parkingFloor.addAvailabilityListener(availability);
+        parkingStrategy.onFloorAdded(parkingFloor);
         this.floors.add(parkingFloor);
     }
 
+    // Rebuilds activeTickets and spot occupancy from the journal, then journals every park/unpark from here on.
+    // Call after the floors are added and before the gates open.
+    public void enableJournal(Path file) throws IOException {
+        List<ParkRecord> recovered = new ArrayList<>();
+        TicketJournal opened = TicketJournal.open(file, recovered);
+        // spots are matched by floor index and spot number; spot ids are handed out per process and differ after a restart
+        Map<Long, ParkingSpot> spotsByLocation = new HashMap<>();
+        for(int floorIndex = 0; floorIndex < floors.size(); floorIndex++){
+            for(ParkingSpot spot : floors.get(floorIndex).getSpots())
+                spotsByLocation.put(location(floorIndex, spot.getNumber()), spot);
+        }
+        for(ParkRecord record : recovered){
+            ParkingSpot spot = spotsByLocation.get(location(record.getFloorIndex(), record.getSpotNumber()));
+            Vehicle vehicle = Vehicle.of(record.getLicenseNumber(), record.getVehicleSize());
+            if(spot == null || !spot.tryClaim(vehicle)){
+                System.out.println("Could not restore ticket " + record.getTicketId() + " to spot " + record.getSpotNumber()
+                        + " on floor " + record.getFloorIndex());
+                continue;
+            }
+            activeTickets.put(record.getTicketId(), new ParkingTicket(record.getTicketId(), spot, vehicle, record.getStartTime()));
+        }
+        this.journal = opened;
+    }
+
+    private static long location(int floorIndex, int spotNumber){
+        return ((long) floorIndex << 32) | (spotNumber & 0xFFFFFFFFL);
+    }
+
+    public void closeJournal() throws IOException {
+        TicketJournal current = journal;
+        journal = null;
+        if(current != null)
+            current.close();
+    }
+
+    public LotAvailability getAvailability() {
+        return availability;
+    }
+
+    public DisplayBoard getDisplayBoard() {
+        return displayBoard;
+    }
+
+    public void addEventListener(ParkingEventListener listener){
+        eventListeners.add(listener);
+    }
+
     public void setFareStrategy(FareStrategy fareStrategy){
         this.fareStrategy = fareStrategy;
     }
 
-    public void setParkingStrategy(ParkingStrategy parkingStrategy) {
+    // Safe while vehicles are parking: the new strategy indexes every floor before it takes over,
+    // and the old one is detached from the floors afterwards.
+    public synchronized void setParkingStrategy(ParkingStrategy parkingStrategy) {
+        ParkingStrategy previous = this.parkingStrategy;
+        if(parkingStrategy == previous)
+            return;
+        parkingStrategy.onAttached();
+        for(ParkingFloor floor : floors)
+            parkingStrategy.onFloorAdded(floor);
         this.parkingStrategy = parkingStrategy;
+        previous.onDetached();
     }
 
-    public Optional<String> parkVehicle(Vehicle vehicle){
-        Optional<ParkingSpot> availableSpot = parkingStrategy.findSpot(floors, vehicle);
+    public OptionalLong parkVehicle(Vehicle vehicle){
+        return parkVehicle(vehicle, 0);
+    }
+
+    public OptionalLong parkVehicle(Vehicle vehicle, int gateId){
+        // a bad gate must fail before a spot is claimed, or the claimed spot would never be released
+        TicketIdGenerator.checkGate(gateId);
+        Optional<ParkingSpot> availableSpot = availability.hasCapacityFor(vehicle.getSize())
+                ? parkingStrategy.claimSpot(floors, vehicle, gateId)
+                : Optional.empty();
         if(availableSpot.isPresent()){
             ParkingSpot spot = availableSpot.get();
-            spot.parkVehicle(vehicle);
-            ParkingTicket ticket = new ParkingTicket(UUID.randomUUID().toString(), spot, vehicle, LocalDateTime.now());
+            ParkingTicket ticket = new ParkingTicket(ticketIdGenerator.nextId(gateId), spot, vehicle, LocalDateTime.now());
+            TicketJournal current = journal;
+            if(current != null){
+                try{
+                    current.recordPark(ticket, floors.indexOf(spot.getFloor()));
+                }catch(RuntimeException e){
+                    // the vehicle is turned away, so it must not keep the spot
+                    spot.release();
+                    throw e;
+                }
+            }
             activeTickets.put(ticket.getTicketId(), ticket);
-            System.out.printf("%s parked at %s.Ticket: %s\n" , vehicle.getLicenseNumber(), spot.getSpotId(), ticket.getTicketId());
-            return Optional.of(ticket.getTicketId());
+            for(ParkingEventListener listener : eventListeners)
+                listener.onVehicleParked(ticket);
+            return OptionalLong.of(ticket.getTicketId());
         }
-        return Optional.empty();
+        for(ParkingEventListener listener : eventListeners)
+            listener.onParkingRejected(vehicle);
+        return OptionalLong.empty();
+    }
+
+    public Optional<ParkingTicket> getTicket(long ticketId){
+        return Optional.ofNullable(activeTickets.get(ticketId));
     }
 
-    public Optional<Double> unparkVehicle(String ticketId, LocalDateTime endTime ){
+    public Optional<Double> unparkVehicle(long ticketId, LocalDateTime endTime ){
         ParkingTicket ticket = activeTickets.remove(ticketId);
         if(ticket == null){
-            System.out.println("Ticket Not found");
+            for(ParkingEventListener listener : eventListeners)
+                listener.onTicketNotFound(ticketId);
             return Optional.empty();
         }
 
+        TicketJournal current = journal;
+        if(current != null)
+            current.recordUnpark(ticketId);
         ticket.setEndTime(endTime);
-        ticket.getSpot().unparkVehicle();
-        Double parkingFee = fareStrategy.getPrice(ticket);
+        ticket.getSpot().release();
+        double parkingFee = fareStrategy.getPrice(ticket);
+        for(ParkingEventListener listener : eventListeners)
+            listener.onVehicleUnparked(ticket, parkingFee);
         return Optional.of(parkingFee);
     }
 
@@ -0,0 +1,152 @@
+package ParkingLot;
+
+import ParkingLot.vehicles.Vehicle;
+import ParkingLot.vehicles.VehicleSize;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Hosts many garages side by side. Every lot is a shard with its own ParkingLot state and its own
+// executor, so a busy or slow garage never borrows threads from another. Lot availability is
+// summarized asynchronously on each shard's executor and cached here for routing decisions.
+public class ParkingLotService implements AutoCloseable {
+    private final Map<String, LotShard> shards = new ConcurrentHashMap<>();
+    private final Map<String, LotSummary> summaries = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService aggregator;
+    private final int threadsPerLot;
+
+    private static class LotShard {
+        private final String lotId;
+        private final ParkingLot parkingLot;
+        private final ExecutorService executor;
+        private final double x;
+        private final double y;
+
+        LotShard(String lotId, ParkingLot parkingLot, ExecutorService executor, double x, double y) {
+            this.lotId = lotId;
+            this.parkingLot = parkingLot;
+            this.executor = executor;
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    public ParkingLotService(int threadsPerLot, Duration summaryInterval) {
+        this.threadsPerLot = threadsPerLot;
+        this.aggregator = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lot-summary-aggregator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = summaryInterval.toMillis();
+        aggregator.scheduleAtFixedRate(this::refreshSummaries, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // x, y locate the lot for routing; floors are added to the returned lot before traffic is sent to it
+    public ParkingLot registerLot(String lotId, double x, double y) {
+        ParkingLot parkingLot = new ParkingLot();
+        ExecutorService executor = Executors.newFixedThreadPool(threadsPerLot, runnable -> {
+            Thread thread = new Thread(runnable, "lot-" + lotId);
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (shards.putIfAbsent(lotId, new LotShard(lotId, parkingLot, executor, x, y)) != null) {
+            executor.shutdown();
+            throw new IllegalArgumentException("Lot " + lotId + " is already registered");
+        }
+        return parkingLot;
+    }
+
+    public ParkingLot getLot(String lotId) {
+        return shard(lotId).parkingLot;
+    }
+
+    public CompletableFuture<OptionalLong> parkVehicle(String lotId, Vehicle vehicle, int gateId) {
+        LotShard shard = shard(lotId);
+        return CompletableFuture.supplyAsync(() -> shard.parkingLot.parkVehicle(vehicle, gateId), shard.executor);
+    }
+
+    public CompletableFuture<Optional<Double>> unparkVehicle(String lotId, long ticketId, LocalDateTime endTime) {
+        LotShard shard = shard(lotId);
+        return CompletableFuture.supplyAsync(() -> shard.parkingLot.unparkVehicle(ticketId, endTime), shard.executor);
+    }
+
+    public Optional<LotSummary> findNearestLotWithCapacity(VehicleSize size, double x, double y) {
+        return candidates(size, x, y).stream().findFirst();
+    }
+
+    // Tries lots nearest first according to the cached summaries; a lot that filled up since its last
+    // summary just fails the claim and the request moves on to the next candidate.
+    public CompletableFuture<Optional<ParkingAssignment>> parkAtNearestLot(Vehicle vehicle, double x, double y) {
+        return tryLots(candidates(vehicle.getSize(), x, y), 0, vehicle);
+    }
+
+    public Map<String, LotSummary> getSummaries() {
+        return Map.copyOf(summaries);
+    }
+
+    // Summaries are built on each lot's own executor from its maintained counters and merged as they complete.
+    public CompletableFuture<Void> refreshSummaries() {
+        List<CompletableFuture<Void>> refreshes = new ArrayList<>();
+        for (LotShard shard : shards.values()) {
+            refreshes.add(CompletableFuture.supplyAsync(() -> summarize(shard), shard.executor)
+                    .thenAccept(summary -> summaries.put(shard.lotId, summary)));
+        }
+        return CompletableFuture.allOf(refreshes.toArray(new CompletableFuture<?>[0]));
+    }
+
+    @Override
+    public void close() {
+        aggregator.shutdownNow();
+        for (LotShard shard : shards.values()) {
+            shard.executor.shutdown();
+        }
+    }
+
+    private CompletableFuture<Optional<ParkingAssignment>> tryLots(List<LotSummary> candidates, int index, Vehicle vehicle) {
+        if (index == candidates.size())
+            return CompletableFuture.completedFuture(Optional.empty());
+        String lotId = candidates.get(index).getLotId();
+        return parkVehicle(lotId, vehicle, 0).thenCompose(ticketId -> ticketId.isPresent()
+                ? CompletableFuture.completedFuture(Optional.of(new ParkingAssignment(lotId, ticketId.getAsLong())))
+                : tryLots(candidates, index + 1, vehicle));
+    }
+
+    private List<LotSummary> candidates(VehicleSize size, double x, double y) {
+        List<LotSummary> candidates = new ArrayList<>();
+        for (LotSummary summary : summaries.values()) {
+            if (summary.hasCapacityFor(size))
+                candidates.add(summary);
+        }
+        candidates.sort(Comparator.comparingDouble(summary -> summary.distanceTo(x, y)));
+        return candidates;
+    }
+
+    private static LotSummary summarize(LotShard shard) {
+        Map<VehicleSize, Long> freeBySize = new EnumMap<>(VehicleSize.class);
+        for (VehicleSize size : VehicleSize.values()) {
+            freeBySize.put(size, shard.parkingLot.getAvailability().getAvailableSpotCount(size));
+        }
+        return new LotSummary(shard.lotId, shard.x, shard.y, freeBySize, LocalDateTime.now());
+    }
+
+    private LotShard shard(String lotId) {
+        LotShard shard = shards.get(lotId);
+        if (shard == null)
+            throw new IllegalArgumentException("Unknown lot " + lotId);
+        return shard;
+    }
+}
@@ -0,0 +1,132 @@
+package ParkingLot;
+
+import ParkingLot.entities.ParkingFloor;
+import ParkingLot.entities.ParkingSpot;
+import ParkingLot.entities.ParkingTicket;
+import ParkingLot.vehicles.SmallVehicle;
+import ParkingLot.vehicles.VehicleSize;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Many gates park and unpark against the same lot at once. Every successful park registers its spot
+// in a shared map; if two tickets ever hold the same spot at the same time the run fails.
+public class ParkingLotStressDemo {
+    private static final int FLOORS = 4;
+    private static final int SPOTS_PER_SIZE = 50;
+    private static final int GATES = 16;
+    private static final int OPERATIONS_PER_GATE = 20_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        ParkingLot parkingLot = ParkingLot.getInstance();
+        for (int f = 0; f < FLOORS; f++) {
+            ParkingFloor floor = new ParkingFloor();
+            for (VehicleSize size : VehicleSize.values()) {
+                for (int s = 0; s < SPOTS_PER_SIZE; s++) {
+                    floor.addSpot(new ParkingSpot(size));
+                }
+            }
+            parkingLot.addFloor(floor);
+        }
+        int capacity = FLOORS * SPOTS_PER_SIZE * VehicleSize.values().length;
+
+        Map<Integer, Long> occupiedSpots = new ConcurrentHashMap<>();
+        AtomicInteger doubleAllocations = new AtomicInteger();
+
+        // phase 1: more vehicles than spots arrive at once, nobody leaves
+        List<Long> tickets = new ArrayList<>();
+        runGates(gate -> {
+            List<Long> parked = new ArrayList<>();
+            for (int i = 0; i < capacity; i++) {
+                OptionalLong ticketId = parkingLot.parkVehicle(new SmallVehicle("G" + gate + "-" + i), gate);
+                if (ticketId.isEmpty())
+                    break;
+                register(parkingLot, ticketId.getAsLong(), occupiedSpots, doubleAllocations);
+                parked.add(ticketId.getAsLong());
+            }
+            synchronized (tickets) {
+                tickets.addAll(parked);
+            }
+        });
+        System.out.printf("fill: %d vehicles parked into %d spots, %d distinct spots, %d double allocations%n",
+                tickets.size(), capacity, occupiedSpots.size(), doubleAllocations.get());
+        if (tickets.size() != capacity || occupiedSpots.size() != capacity)
+            throw new IllegalStateException("Lot was not filled exactly once");
+
+        for (long ticketId : tickets) {
+            unregister(parkingLot, ticketId, occupiedSpots);
+        }
+
+        // phase 2: gates keep parking and leaving at random
+        long start = System.nanoTime();
+        runGates(gate -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            List<Long> mine = new ArrayList<>();
+            for (int i = 0; i < OPERATIONS_PER_GATE; i++) {
+                if (!mine.isEmpty() && random.nextBoolean()) {
+                    unregister(parkingLot, mine.remove(mine.size() - 1), occupiedSpots);
+                } else {
+                    parkingLot.parkVehicle(new SmallVehicle("G" + gate + "-" + i), gate).ifPresent(ticketId -> {
+                        register(parkingLot, ticketId, occupiedSpots, doubleAllocations);
+                        mine.add(ticketId);
+                    });
+                }
+            }
+            for (long ticketId : mine) {
+                unregister(parkingLot, ticketId, occupiedSpots);
+            }
+        });
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("churn: %d gates x %d operations in %d ms, %d double allocations%n",
+                GATES, OPERATIONS_PER_GATE, elapsed / 1_000_000, doubleAllocations.get());
+        if (doubleAllocations.get() > 0)
+            throw new IllegalStateException("A spot was handed to two vehicles at once");
+        System.out.println("No spot was ever allocated twice.");
+    }
+
+    private interface Gate {
+        void run(int gate);
+    }
+
+    private static void runGates(Gate body) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int g = 0; g < GATES; g++) {
+            int gate = g;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    body.run(gate);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    private static void register(ParkingLot parkingLot, long ticketId, Map<Integer, Long> occupiedSpots, AtomicInteger doubleAllocations) {
+        ParkingTicket ticket = parkingLot.getTicket(ticketId).orElseThrow();
+        if (occupiedSpots.putIfAbsent(ticket.getSpot().getSpotId(), ticketId) != null)
+            doubleAllocations.incrementAndGet();
+    }
+
+    // drop the spot from the shared map before releasing it, so the next claimant never sees a stale entry
+    private static void unregister(ParkingLot parkingLot, long ticketId, Map<Integer, Long> occupiedSpots) {
+        ParkingTicket ticket = parkingLot.getTicket(ticketId).orElseThrow();
+        occupiedSpots.remove(ticket.getSpot().getSpotId(), ticketId);
+        parkingLot.unparkVehicle(ticketId, LocalDateTime.now());
+    }
+}
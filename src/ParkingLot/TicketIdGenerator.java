@@ -0,0 +1,53 @@
+package ParkingLot;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Time-ordered 64-bit ticket ids: 41 bits of milliseconds since 2024-01-01 UTC, 10 bits of gate id
+// and 12 bits of per-gate sequence. Each gate advances its own (millis, sequence) word with a CAS,
+// so gates never contend with each other and ids still sort by issue time across the lot.
+public class TicketIdGenerator {
+    public static final int MAX_GATES = 1 << 10;
+    private static final long EPOCH_MILLIS = 1_704_067_200_000L;
+    private static final int SEQUENCE_BITS = 12;
+    private static final int GATE_BITS = 10;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // per gate: (millis since epoch << SEQUENCE_BITS) | sequence of the last id issued
+    private final AtomicLongArray lastIssued = new AtomicLongArray(MAX_GATES);
+
+    public long nextId(int gateId) {
+        checkGate(gateId);
+        while (true) {
+            long last = lastIssued.get(gateId);
+            long now = System.currentTimeMillis() - EPOCH_MILLIS;
+            long lastMillis = last >>> SEQUENCE_BITS;
+            long next;
+            if (now > lastMillis) {
+                next = now << SEQUENCE_BITS;
+            } else if ((last & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                // same millisecond, or the clock stepped back: keep counting on the last timestamp
+                next = last + 1;
+            } else {
+                // 4096 ids in one millisecond from a single gate: borrow the next millisecond
+                next = (lastMillis + 1) << SEQUENCE_BITS;
+            }
+            if (lastIssued.compareAndSet(gateId, last, next)) {
+                long millis = next >>> SEQUENCE_BITS;
+                return (millis << (GATE_BITS + SEQUENCE_BITS)) | ((long) gateId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    public static void checkGate(int gateId) {
+        if (gateId < 0 || gateId >= MAX_GATES)
+            throw new IllegalArgumentException("Gate id must be between 0 and " + (MAX_GATES - 1));
+    }
+
+    public static long issuedAtMillis(long ticketId) {
+        return (ticketId >>> (GATE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    public static int gateOf(long ticketId) {
+        return (int) ((ticketId >>> SEQUENCE_BITS) & (MAX_GATES - 1));
+    }
+}
@@ -0,0 +1,8 @@
+package ParkingLot.entities;
+
+import ParkingLot.vehicles.VehicleSize;
+
+// Notified whenever a floor's free count for a spot size changes; delta is the change in free spots.
+public interface AvailabilityListener {
+    void onAvailabilityChanged(ParkingFloor floor, VehicleSize size, int delta);
+}
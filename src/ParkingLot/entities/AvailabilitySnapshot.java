@@ -0,0 +1,37 @@
+package ParkingLot.entities;
+
+import ParkingLot.vehicles.VehicleSize;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// Immutable view of free spot counts at one point in time, safe to hand to any number of readers.
+public class AvailabilitySnapshot {
+    private final LocalDateTime takenAt;
+    private final Map<Integer, Map<VehicleSize, Integer>> freeByFloor;
+    private final Map<VehicleSize, Integer> totalFree;
+
+    AvailabilitySnapshot(LocalDateTime takenAt, Map<Integer, Map<VehicleSize, Integer>> freeByFloor, Map<VehicleSize, Integer> totalFree) {
+        this.takenAt = takenAt;
+        this.freeByFloor = freeByFloor;
+        this.totalFree = totalFree;
+    }
+
+    public LocalDateTime getTakenAt() {
+        return takenAt;
+    }
+
+    public List<Integer> getFloorIds() {
+        return List.copyOf(freeByFloor.keySet());
+    }
+
+    public int getAvailableSpotCount(int floorId, VehicleSize size) {
+        Map<VehicleSize, Integer> floor = freeByFloor.get(floorId);
+        return floor == null ? 0 : floor.get(size);
+    }
+
+    public int getTotalAvailableSpotCount(VehicleSize size) {
+        return totalFree.get(size);
+    }
+}
@@ -0,0 +1,64 @@
+package ParkingLot.entities;
+
+import ParkingLot.vehicles.VehicleSize;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Builds snapshots from the floors' maintained counters (never from the spots themselves) and
+// publishes the latest one through a volatile field, so any number of screens can read it lock-free.
+public class DisplayBoard {
+    private final List<ParkingFloor> floors;
+    private volatile AvailabilitySnapshot snapshot;
+
+    public DisplayBoard(List<ParkingFloor> floors) {
+        this.floors = floors;
+        publish();
+    }
+
+    public AvailabilitySnapshot publish() {
+        Map<Integer, Map<VehicleSize, Integer>> freeByFloor = new LinkedHashMap<>();
+        Map<VehicleSize, Integer> totalFree = new EnumMap<>(VehicleSize.class);
+        for (VehicleSize size : VehicleSize.values()) {
+            totalFree.put(size, 0);
+        }
+        for (ParkingFloor floor : floors) {
+            Map<VehicleSize, Integer> counts = new EnumMap<>(VehicleSize.class);
+            for (VehicleSize size : VehicleSize.values()) {
+                int free = floor.getAvailableSpotCount(size);
+                counts.put(size, free);
+                totalFree.merge(size, free, Integer::sum);
+            }
+            freeByFloor.put(floor.getFloorId(), Collections.unmodifiableMap(counts));
+        }
+        AvailabilitySnapshot published = new AvailabilitySnapshot(LocalDateTime.now(),
+                Collections.unmodifiableMap(freeByFloor), Collections.unmodifiableMap(totalFree));
+        snapshot = published;
+        return published;
+    }
+
+    public AvailabilitySnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public void show() {
+        AvailabilitySnapshot current = snapshot;
+        System.out.println("--- Display Board (" + current.getTakenAt() + ") ---");
+        for (int floorId : current.getFloorIds()) {
+            System.out.printf("Floor %d:", floorId);
+            for (VehicleSize size : VehicleSize.values()) {
+                System.out.printf(" %s=%d", size, current.getAvailableSpotCount(floorId, size));
+            }
+            System.out.println();
+        }
+        System.out.print("Total:");
+        for (VehicleSize size : VehicleSize.values()) {
+            System.out.printf(" %s=%d", size, current.getTotalAvailableSpotCount(size));
+        }
+        System.out.println();
+    }
+}
@@ -0,0 +1,77 @@
+package ParkingLot.entities;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Lock-free bitset with one bit per spot slot, set while the spot is free.
+// Finding the lowest free slot is a scan over 64-spot words and marking a slot is a single CAS,
+// so a floor never has to touch the ParkingSpot objects to answer "is anything free".
+// Slots are added while the floor (or a strategy's index) is being set up, before vehicles start arriving.
+public class FreeSpotIndex {
+    private volatile AtomicLongArray words = new AtomicLongArray(1);
+    private final AtomicInteger freeCount = new AtomicInteger();
+    private int capacity;
+
+    public synchronized int addSlot() {
+        int slot = capacity++;
+        if ((slot >> 6) >= words.length()) {
+            AtomicLongArray grown = new AtomicLongArray(words.length() * 2);
+            for (int i = 0; i < words.length(); i++) {
+                grown.set(i, words.get(i));
+            }
+            words = grown;
+        }
+        markFree(slot);
+        return slot;
+    }
+
+    // lowest free slot at or after from, or -1
+    public int firstFree(int from) {
+        AtomicLongArray current = words;
+        int wordIndex = from >> 6;
+        if (wordIndex >= current.length())
+            return -1;
+        long word = current.get(wordIndex) & (-1L << (from & 63));
+        while (true) {
+            if (word != 0)
+                return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+            if (++wordIndex == current.length())
+                return -1;
+            word = current.get(wordIndex);
+        }
+    }
+
+    public boolean markOccupied(int slot) {
+        AtomicLongArray current = words;
+        int wordIndex = slot >> 6;
+        long mask = 1L << (slot & 63);
+        while (true) {
+            long word = current.get(wordIndex);
+            if ((word & mask) == 0)
+                return false;
+            if (current.compareAndSet(wordIndex, word, word & ~mask)) {
+                freeCount.decrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    public boolean markFree(int slot) {
+        AtomicLongArray current = words;
+        int wordIndex = slot >> 6;
+        long mask = 1L << (slot & 63);
+        while (true) {
+            long word = current.get(wordIndex);
+            if ((word & mask) != 0)
+                return false;
+            if (current.compareAndSet(wordIndex, word, word | mask)) {
+                freeCount.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    public int freeCount() {
+        return freeCount.get();
+    }
+}
@@ -0,0 +1,37 @@
+package ParkingLot.entities;
+
+import ParkingLot.vehicles.VehicleSize;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Lot-wide free spot counts per size. Every floor feeds it through AvailabilityListener; LongAdder
+// stripes the updates so gates on different floors do not contend on one counter.
+public class LotAvailability implements AvailabilityListener {
+    private final Map<VehicleSize, LongAdder> freeBySize = new EnumMap<>(VehicleSize.class);
+
+    public LotAvailability() {
+        for (VehicleSize size : VehicleSize.values()) {
+            freeBySize.put(size, new LongAdder());
+        }
+    }
+
+    @Override
+    public void onAvailabilityChanged(ParkingFloor floor, VehicleSize size, int delta) {
+        freeBySize.get(size).add(delta);
+    }
+
+    public long getAvailableSpotCount(VehicleSize size) {
+        return freeBySize.get(size).sum();
+    }
+
+    // a vehicle fits in any spot of its own size or larger
+    public boolean hasCapacityFor(VehicleSize vehicleSize) {
+        for (VehicleSize size : VehicleSize.values()) {
+            if (size.ordinal() >= vehicleSize.ordinal() && freeBySize.get(size).sum() > 0)
+                return true;
+        }
+        return false;
+    }
+}
@@ -5,40 +5,139 @@ import ParkingLot.vehicles.VehicleSize;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 
-// we can add a display board later
 public class ParkingFloor {
     private static final AtomicInteger counter = new AtomicInteger(0);
     private final Map<VehicleSize, List<ParkingSpot>> AvailableSpots;
+    // per size: bit i is set while AvailableSpots.get(size).get(i) is free
+    private final Map<VehicleSize, FreeSpotIndex> freeSpots;
+    private final List<AvailabilityListener> listeners = new CopyOnWriteArrayList<>();
+    private final List<SpotListener> spotListeners = new CopyOnWriteArrayList<>();
+    private int spotCount;
     private final int floorId;
     public ParkingFloor(){
         this.floorId = counter.incrementAndGet();
         this.AvailableSpots = new ConcurrentHashMap<>();
+        this.freeSpots = new EnumMap<>(VehicleSize.class);
+        for(VehicleSize size : VehicleSize.values()){
+            AvailableSpots.put(size, new ArrayList<>());
+            freeSpots.put(size, new FreeSpotIndex());
+        }
     }
     public Optional<ParkingSpot> findAvailableSpot(Vehicle vehicle){
          VehicleSize vehicleSize = vehicle.getSize();
         // Start looking for the smallest spot that can fit the vehicle
          for(VehicleSize size : VehicleSize.values()){
              if(size.ordinal() >= vehicleSize.ordinal()){
-                 List<ParkingSpot> spots = AvailableSpots.get(size);
-                 for(ParkingSpot spot: spots){
-                     if(spot.isAvailable())
-                         return Optional.of(spot);
-                 }
+                 int slot = freeSpots.get(size).firstFree(0);
+                 if(slot >= 0)
+                     return Optional.of(AvailableSpots.get(size).get(slot));
              }
          }
         return Optional.empty();
     }
 
-    public void addSpot(ParkingSpot spot){
-        AvailableSpots.computeIfAbsent(spot.getSpotType(), k -> new ArrayList<>()).add(spot);
+    // Claims the first free spot that fits. The bitset only points at candidates; the spot's own CAS
+    // decides the winner, and a gate that loses the race simply continues with the next free slot.
+    public Optional<ParkingSpot> claimSpot(Vehicle vehicle){
+        VehicleSize vehicleSize = vehicle.getSize();
+        for(VehicleSize size : VehicleSize.values()){
+            if(size.ordinal() >= vehicleSize.ordinal()){
+                FreeSpotIndex index = freeSpots.get(size);
+                if(index.freeCount() == 0)
+                    continue;
+                List<ParkingSpot> spots = AvailableSpots.get(size);
+                for(int slot = index.firstFree(0); slot >= 0; slot = index.firstFree(slot + 1)){
+                    ParkingSpot spot = spots.get(slot);
+                    if(spot.tryClaim(vehicle))
+                        return Optional.of(spot);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    public synchronized void addSpot(ParkingSpot spot){
+        AvailableSpots.get(spot.getSpotType()).add(spot);
+        int slot = freeSpots.get(spot.getSpotType()).addSlot();
+        spot.attach(this, slot, spotCount++);
+        notifyListeners(spot.getSpotType(), 1);
+        if(!spot.isAvailable())
+            onSpotOccupied(spot);
+    }
+
+    // the listener is first credited with the spots that are already free
+    public synchronized void addAvailabilityListener(AvailabilityListener listener){
+        listeners.add(listener);
+        for(VehicleSize size : VehicleSize.values()){
+            int free = getAvailableSpotCount(size);
+            if(free > 0)
+                listener.onAvailabilityChanged(this, size, free);
+        }
+    }
+
+    public void addSpotListener(SpotListener listener){
+        spotListeners.add(listener);
+    }
+
+    public void removeSpotListener(SpotListener listener){
+        spotListeners.remove(listener);
+    }
+
+    void onSpotOccupied(ParkingSpot spot){
+        if(freeSpots.get(spot.getSpotType()).markOccupied(spot.getSlot())){
+            notifyListeners(spot.getSpotType(), -1);
+            for(SpotListener listener : spotListeners)
+                listener.onSpotClaimed(spot);
+        }
+    }
+
+    void onSpotReleased(ParkingSpot spot){
+        if(freeSpots.get(spot.getSpotType()).markFree(spot.getSlot())){
+            notifyListeners(spot.getSpotType(), 1);
+            for(SpotListener listener : spotListeners)
+                listener.onSpotReleased(spot);
+        }
+    }
+
+    private void notifyListeners(VehicleSize size, int delta){
+        for(AvailabilityListener listener : listeners)
+            listener.onAvailabilityChanged(this, size, delta);
+    }
+
+    public boolean hasCapacityFor(Vehicle vehicle){
+        for(VehicleSize size : VehicleSize.values()){
+            if(size.ordinal() >= vehicle.getSize().ordinal() && getAvailableSpotCount(size) > 0)
+                return true;
+        }
+        return false;
+    }
+
+    public int getSpotCount(VehicleSize size){
+        return AvailableSpots.get(size).size();
+    }
+
+    public int getAvailableSpotCount(VehicleSize size){
+        return freeSpots.get(size).freeCount();
+    }
+
+    public List<ParkingSpot> getSpots(){
+        List<ParkingSpot> spots = new ArrayList<>();
+        for(VehicleSize size : VehicleSize.values())
+            spots.addAll(AvailableSpots.get(size));
+        return spots;
+    }
+
+    public int getFloorId() {
+        return floorId;
     }
 
     public void displayAvailability(){
         System.out.printf("--- Floor %d Availability ---\n" , floorId);
         for(VehicleSize size: VehicleSize.values() ){
-            System.out.printf(" %s spots: %d\n", size, AvailableSpots.get(size).stream().filter(ParkingSpot::isAvailable).count());
+            System.out.printf(" %s spots: %d\n", size, getAvailableSpotCount(size));
         }
     }
 }
@@ -4,38 +4,85 @@ import ParkingLot.vehicles.Vehicle;
 import ParkingLot.vehicles.VehicleSize;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 // another way is to make below class abstract and create classes for each vehicleType
 public class ParkingSpot {
     private final int spotId;
     private static final AtomicInteger counter = new AtomicInteger(0);
-    private boolean isAvailable;
-    private Vehicle vehicle;
+    // null while the spot is free; claimed and released only through compare-and-set
+    private final AtomicReference<Vehicle> vehicle;
     private final VehicleSize spotType;
+    private ParkingFloor floor;
+    private int slot;
+    // order the spot was added to its floor; unlike spotId it comes out the same every time the lot is built
+    private int number;
+    // distance units from the floor's ramp; spots added without one are numbered in insertion order
+    private int position;
     public ParkingSpot( VehicleSize type){
+        this(type, -1);
+    }
+    public ParkingSpot( VehicleSize type, int position){
         this.spotId = counter.incrementAndGet();
-        this.isAvailable = true;
-        this.vehicle = null;
+        this.position = position;
+        this.vehicle = new AtomicReference<>();
         this.spotType = type;
     }
-    public synchronized void parkVehicle(Vehicle vehicle){
-        this.vehicle = vehicle;
-        this.isAvailable = false;
+    // Exactly one caller wins the spot; everyone else gets false and should move on to another spot.
+    public boolean tryClaim(Vehicle vehicle){
+        if(!this.vehicle.compareAndSet(null, vehicle))
+            return false;
+        if(floor != null)
+            floor.onSpotOccupied(this);
+        return true;
+    }
+    public boolean release(){
+        Vehicle current = vehicle.get();
+        if(current == null || !vehicle.compareAndSet(current, null))
+            return false;
+        if(floor != null)
+            floor.onSpotReleased(this);
+        return true;
+    }
+    public boolean parkVehicle(Vehicle vehicle){
+        return tryClaim(vehicle);
     }
-    public synchronized void unparkVehicle(){
-        this.vehicle = null;
-        this.isAvailable = true;
+    public boolean unparkVehicle(){
+        return release();
+    }
+    // called by ParkingFloor.addSpot; slot is the spot's position in the floor's free-spot index
+    void attach(ParkingFloor floor, int slot, int number){
+        this.floor = floor;
+        this.slot = slot;
+        this.number = number;
+        if(position < 0)
+            position = number;
+    }
+    int getSlot(){
+        return slot;
     }
     public boolean isAvailable(){
-        return isAvailable;
+        return vehicle.get() == null;
     }
     public Vehicle getVehicle(){
-        return vehicle;
+        return vehicle.get();
     }
     public VehicleSize getSpotType() {
         return spotType;
     }
 
+    public ParkingFloor getFloor() {
+        return floor;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
     public int getSpotId() {
         return spotId;
     }
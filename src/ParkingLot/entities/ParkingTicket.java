@@ -7,13 +7,13 @@ import java.time.LocalDateTime;
 import java.util.Date;
 
 public class ParkingTicket {
-    private final String ticketId;
+    private final long ticketId;
     private final ParkingSpot spot;
     private final Vehicle vehicle;
     private final LocalDateTime startTime;
     private LocalDateTime endTime;
 
-    public ParkingTicket(String ticketId, ParkingSpot spot, Vehicle vehicle, LocalDateTime startTime) {
+    public ParkingTicket(long ticketId, ParkingSpot spot, Vehicle vehicle, LocalDateTime startTime) {
         this.ticketId = ticketId;
         this.spot = spot;
         this.vehicle = vehicle;
@@ -28,7 +28,7 @@ public class ParkingTicket {
         return Duration.between(startTime, endTime);
     }
 
-    public String getTicketId() {
+    public long getTicketId() {
         return ticketId;
     }
 
@@ -39,4 +39,8 @@ public class ParkingTicket {
     public Vehicle getVehicle() {
         return vehicle;
     }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
 }
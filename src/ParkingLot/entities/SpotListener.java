@@ -0,0 +1,8 @@
+package ParkingLot.entities;
+
+// Spot-level counterpart of AvailabilityListener, for indexes that track individual spots.
+public interface SpotListener {
+    void onSpotClaimed(ParkingSpot spot);
+
+    void onSpotReleased(ParkingSpot spot);
+}
@@ -0,0 +1,49 @@
+package ParkingLot.journal;
+
+import ParkingLot.vehicles.VehicleSize;
+
+import java.time.LocalDateTime;
+
+// A park event read back from the journal whose vehicle had not left when the process stopped.
+public class ParkRecord {
+    private final long ticketId;
+    // where the vehicle is: the floor's index in the lot and the spot's number on that floor
+    private final int floorIndex;
+    private final int spotNumber;
+    private final VehicleSize vehicleSize;
+    private final String licenseNumber;
+    private final LocalDateTime startTime;
+
+    public ParkRecord(long ticketId, int floorIndex, int spotNumber, VehicleSize vehicleSize, String licenseNumber, LocalDateTime startTime) {
+        this.ticketId = ticketId;
+        this.floorIndex = floorIndex;
+        this.spotNumber = spotNumber;
+        this.vehicleSize = vehicleSize;
+        this.licenseNumber = licenseNumber;
+        this.startTime = startTime;
+    }
+
+    public long getTicketId() {
+        return ticketId;
+    }
+
+    public int getFloorIndex() {
+        return floorIndex;
+    }
+
+    public int getSpotNumber() {
+        return spotNumber;
+    }
+
+    public VehicleSize getVehicleSize() {
+        return vehicleSize;
+    }
+
+    public String getLicenseNumber() {
+        return licenseNumber;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+}
@@ -0,0 +1,238 @@
+package ParkingLot.journal;
+
+import ParkingLot.entities.ParkingTicket;
+import ParkingLot.vehicles.VehicleSize;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32;
+
+// Append-only log of park/unpark events.
+// Gates only enqueue onto a lock-free queue; a single writer thread drains whatever has accumulated,
+// appends it in one write and fsyncs once per batch. A crash can therefore lose the last batch
+// (at most one flush interval) but never leaves a half-applied record: every record is framed as
+// [length][crc32][payload] and replay stops at the first torn or corrupt frame.
+// The first frame names the format version; a journal written in another format is refused, not misread.
+public class TicketJournal implements Closeable {
+    // 2: spots are located by floor index and spot number, ticket ids carry the gate
+    public static final int FORMAT_VERSION = 2;
+    private static final byte PARK = 1;
+    private static final byte UNPARK = 2;
+    private static final byte VERSION = 3;
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final long FLUSH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final int MAX_BATCH = 4096;
+
+    private final FileChannel channel;
+    private final Queue<byte[]> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile IOException failure;
+
+    private TicketJournal(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.writer = new Thread(this::writeLoop, "ticket-journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    // Replays the journal, rewrites it so it holds only the vehicles still parked, then opens it for appends.
+    public static TicketJournal open(Path file, List<ParkRecord> recovered) throws IOException {
+        Collection<ParkRecord> active = replay(file);
+        Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            out.write(ByteBuffer.wrap(frame(ByteBuffer.allocate(1 + Integer.BYTES).put(VERSION).putInt(FORMAT_VERSION).array())));
+            for (ParkRecord record : active) {
+                out.write(ByteBuffer.wrap(frame(encodePark(record.getTicketId(), record.getFloorIndex(), record.getSpotNumber(),
+                        record.getVehicleSize(), record.getLicenseNumber(), record.getStartTime()))));
+            }
+            out.force(true);
+        }
+        Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        recovered.addAll(active);
+        return new TicketJournal(file);
+    }
+
+    public static Collection<ParkRecord> replay(Path file) throws IOException {
+        Map<Long, ParkRecord> active = new LinkedHashMap<>();
+        if (!Files.exists(file))
+            return active.values();
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        CRC32 crc = new CRC32();
+        boolean versioned = false;
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining())
+                break;
+            ByteBuffer payload = buffer.slice().limit(length);
+            buffer.position(buffer.position() + length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum)
+                break;
+            if (!versioned) {
+                int version = payload.remaining() == 1 + Integer.BYTES && payload.get() == VERSION ? payload.getInt() : 1;
+                if (version != FORMAT_VERSION)
+                    throw new IOException("Ticket journal " + file + " has format version " + version + ", expected " + FORMAT_VERSION);
+                versioned = true;
+                continue;
+            }
+            try {
+                byte type = payload.get();
+                long ticketId = payload.getLong();
+                if (type == PARK) {
+                    int floorIndex = payload.getInt();
+                    int spotNumber = payload.getInt();
+                    VehicleSize size = VehicleSize.values()[payload.get()];
+                    String license = readString(payload);
+                    LocalDateTime start = LocalDateTime.ofEpochSecond(payload.getLong(), payload.getInt(), ZoneOffset.UTC);
+                    active.put(ticketId, new ParkRecord(ticketId, floorIndex, spotNumber, size, license, start));
+                } else if (type == UNPARK) {
+                    active.remove(ticketId);
+                }
+            } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+                break;
+            }
+        }
+        return active.values();
+    }
+
+    public void recordPark(ParkingTicket ticket, int floorIndex) {
+        append(encodePark(ticket.getTicketId(), floorIndex, ticket.getSpot().getNumber(), ticket.getVehicle().getSize(),
+                ticket.getVehicle().getLicenseNumber(), ticket.getStartTime()));
+    }
+
+    public void recordUnpark(long ticketId) {
+        ByteBuffer payload = ByteBuffer.allocate(1 + Long.BYTES);
+        payload.put(UNPARK).putLong(ticketId);
+        append(payload.array());
+    }
+
+    // Blocks until every event recorded before this call is on disk.
+    public void flush() throws IOException {
+        long target = enqueued.get();
+        while (written.get() < target) {
+            if (failure != null)
+                throw failure;
+            if (!writer.isAlive())
+                throw new IOException("Journal writer has stopped");
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(FLUSH_INTERVAL_NANOS / 5);
+        }
+        if (failure != null)
+            throw failure;
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if (failure != null)
+            throw failure;
+    }
+
+    private void append(byte[] payload) {
+        if (failure != null)
+            throw new UncheckedIOException("Ticket journal is no longer writable", failure);
+        pending.add(frame(payload));
+        enqueued.incrementAndGet();
+    }
+
+    private void writeLoop() {
+        List<byte[]> batch = new ArrayList<>(MAX_BATCH);
+        while (true) {
+            byte[] frame;
+            while (batch.size() < MAX_BATCH && (frame = pending.poll()) != null) {
+                batch.add(frame);
+            }
+            if (batch.isEmpty()) {
+                if (!running)
+                    return;
+                LockSupport.parkNanos(FLUSH_INTERVAL_NANOS);
+                continue;
+            }
+            try {
+                int size = 0;
+                for (byte[] f : batch) {
+                    size += f.length;
+                }
+                ByteBuffer buffer = ByteBuffer.allocate(size);
+                for (byte[] f : batch) {
+                    buffer.put(f);
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+                written.addAndGet(batch.size());
+            } catch (IOException e) {
+                failure = e;
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    private static byte[] encodePark(long ticketId, int floorIndex, int spotNumber, VehicleSize size, String license, LocalDateTime startTime) {
+        byte[] plate = license.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer payload = ByteBuffer.allocate(1 + Long.BYTES + Integer.BYTES * 2 + 1
+                + Short.BYTES + plate.length + Long.BYTES + Integer.BYTES);
+        payload.put(PARK)
+                .putLong(ticketId)
+                .putInt(floorIndex)
+                .putInt(spotNumber)
+                .put((byte) size.ordinal())
+                .putShort((short) plate.length).put(plate)
+                .putLong(startTime.toEpochSecond(ZoneOffset.UTC))
+                .putInt(startTime.getNano());
+        return payload.array();
+    }
+
+    private static byte[] frame(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return ByteBuffer.allocate(HEADER_BYTES + payload.length)
+                .putInt(payload.length)
+                .putInt((int) crc.getValue())
+                .put(payload)
+                .array();
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -6,12 +6,12 @@ import java.time.Duration;
 
 public class BaseFareStrategy implements FareStrategy{
     private static final double RATE_PER_HOUR = 10.0;
+    private static final FareTable FARES = FareTable.compile(hours -> hours * RATE_PER_HOUR, 24, RATE_PER_HOUR);
     public double getPrice(ParkingTicket ticket){
         Duration duration = ticket.calculateParkingDuration();
-        long totalHours = duration.toHours();
-        long remainingMinutes = duration.toMinutes() % 60;
-        if(remainingMinutes > 0)
-            totalHours+= 1;
-        return totalHours * RATE_PER_HOUR;
+        return getPriceForHours(FareTable.billableHours(0, duration.getSeconds()));
+    }
+    public double getPriceForHours(long billableHours){
+        return FARES.price(billableHours);
     }
 }
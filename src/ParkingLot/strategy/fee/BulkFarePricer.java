@@ -0,0 +1,52 @@
+package ParkingLot.strategy.fee;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Re-prices large batches of historic stays by splitting the arrays across the fork/join pool.
+public class BulkFarePricer {
+    private static final int SEQUENTIAL_THRESHOLD = 16_384;
+
+    private BulkFarePricer() {}
+
+    public static void price(FareStrategy fareStrategy, long[] startEpochSeconds, long[] endEpochSeconds, double[] fares) {
+        price(ForkJoinPool.commonPool(), fareStrategy, startEpochSeconds, endEpochSeconds, fares);
+    }
+
+    public static void price(ForkJoinPool pool, FareStrategy fareStrategy, long[] startEpochSeconds, long[] endEpochSeconds, double[] fares) {
+        if (startEpochSeconds.length != endEpochSeconds.length || fares.length < startEpochSeconds.length)
+            throw new IllegalArgumentException("start, end and fare arrays must line up");
+        pool.invoke(new PriceRange(fareStrategy, startEpochSeconds, endEpochSeconds, fares, 0, startEpochSeconds.length));
+    }
+
+    private static class PriceRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final FareStrategy fareStrategy;
+        private final long[] startEpochSeconds;
+        private final long[] endEpochSeconds;
+        private final double[] fares;
+        private final int from;
+        private final int to;
+
+        PriceRange(FareStrategy fareStrategy, long[] startEpochSeconds, long[] endEpochSeconds, double[] fares, int from, int to) {
+            this.fareStrategy = fareStrategy;
+            this.startEpochSeconds = startEpochSeconds;
+            this.endEpochSeconds = endEpochSeconds;
+            this.fares = fares;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                fareStrategy.getPrices(startEpochSeconds, endEpochSeconds, fares, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new PriceRange(fareStrategy, startEpochSeconds, endEpochSeconds, fares, from, middle),
+                    new PriceRange(fareStrategy, startEpochSeconds, endEpochSeconds, fares, middle, to));
+        }
+    }
+}
@@ -5,4 +5,18 @@ import ParkingLot.entities.ParkingTicket;
 
 public interface FareStrategy {
     public double getPrice(ParkingTicket ticket) ;
+
+    public double getPriceForHours(long billableHours);
+
+    // Batch pricing over primitive arrays: fares[i] is the fare for a stay from startEpochSeconds[i]
+    // to endEpochSeconds[i], for every i in [from, to).
+    public default void getPrices(long[] startEpochSeconds, long[] endEpochSeconds, double[] fares, int from, int to) {
+        for (int i = from; i < to; i++) {
+            fares[i] = getPriceForHours(FareTable.billableHours(startEpochSeconds[i], endEpochSeconds[i]));
+        }
+    }
+
+    public default void getPrices(long[] startEpochSeconds, long[] endEpochSeconds, double[] fares) {
+        getPrices(startEpochSeconds, endEpochSeconds, fares, 0, startEpochSeconds.length);
+    }
 }
@@ -0,0 +1,39 @@
+package ParkingLot.strategy.fee;
+
+import java.util.function.LongToDoubleFunction;
+
+// A fare schedule compiled ahead of time: prices for the first hours are looked up in an array and
+// anything longer is the last table entry plus a flat hourly rate, so pricing is one branch and one load.
+public final class FareTable {
+    private final double[] priceByHour;
+    private final double ratePerHourAfterTable;
+
+    private FareTable(double[] priceByHour, double ratePerHourAfterTable) {
+        this.priceByHour = priceByHour;
+        this.ratePerHourAfterTable = ratePerHourAfterTable;
+    }
+
+    // schedule must be linear with slope ratePerHourAfterTable beyond tableHours
+    public static FareTable compile(LongToDoubleFunction schedule, int tableHours, double ratePerHourAfterTable) {
+        double[] priceByHour = new double[tableHours + 1];
+        for (int hours = 0; hours <= tableHours; hours++) {
+            priceByHour[hours] = schedule.applyAsDouble(hours);
+        }
+        return new FareTable(priceByHour, ratePerHourAfterTable);
+    }
+
+    public double price(long billableHours) {
+        int last = priceByHour.length - 1;
+        if (billableHours <= last)
+            return priceByHour[(int) Math.max(billableHours, 0)];
+        return priceByHour[last] + (billableHours - last) * ratePerHourAfterTable;
+    }
+
+    // Same rounding as the Duration-based strategies: whole hours, plus one for any started hour.
+    // Leftover seconds below a minute are not billed.
+    public static long billableHours(long startEpochSecond, long endEpochSecond) {
+        long minutes = (endEpochSecond - startEpochSecond) / 60;
+        long hours = minutes / 60;
+        return minutes % 60 > 0 ? hours + 1 : hours;
+    }
+}
@@ -8,14 +8,20 @@ import java.time.Duration;
 public class TieredFareStrategy implements FareStrategy {
     private static final double FIRST_HOUR_RATE = 5.0;
     private static final double ADDITIONAL_HOUR_RATE = 8.0;
+    private static final FareTable FARES = FareTable.compile(TieredFareStrategy::tieredPrice, 24, ADDITIONAL_HOUR_RATE);
 
     @Override
     public double getPrice(ParkingTicket ticket) {
         Duration duration = ticket.calculateParkingDuration();
-        long totalHours = duration.toHours();
-        long remainingMinutes = duration.toMinutes() % 60;
-        if (remainingMinutes > 0) totalHours++;
+        return getPriceForHours(FareTable.billableHours(0, duration.getSeconds()));
+    }
 
+    @Override
+    public double getPriceForHours(long billableHours) {
+        return FARES.price(billableHours);
+    }
+
+    private static double tieredPrice(long totalHours) {
         if (totalHours <= 1) {
             return FIRST_HOUR_RATE;
         } else {
@@ -23,4 +29,3 @@ public class TieredFareStrategy implements FareStrategy {
         }
     }
 }
-
@@ -0,0 +1,27 @@
+package ParkingLot.strategy.parking;
+
+// An entrance/exit: the floor level it opens onto (0 = first floor added to the lot) and its
+// position along that floor, in the same units as ParkingSpot.getPosition().
+public class Gate {
+    private final int gateId;
+    private final int level;
+    private final int position;
+
+    public Gate(int gateId, int level, int position) {
+        this.gateId = gateId;
+        this.level = level;
+        this.position = position;
+    }
+
+    public int getGateId() {
+        return gateId;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+}
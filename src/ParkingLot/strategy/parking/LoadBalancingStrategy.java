@@ -0,0 +1,54 @@
+package ParkingLot.strategy.parking;
+
+import ParkingLot.entities.ParkingFloor;
+import ParkingLot.entities.ParkingSpot;
+import ParkingLot.vehicles.Vehicle;
+import ParkingLot.vehicles.VehicleSize;
+
+import java.util.List;
+import java.util.Optional;
+
+// Spreads vehicles across floors: each car goes to the floor whose fitting spots are least occupied.
+// Occupancy comes from the floors' maintained free/total counters, so no spot is ever looked at
+// until the chosen floor claims one.
+public class LoadBalancingStrategy implements ParkingStrategy {
+    @Override
+    public Optional<ParkingSpot> claimSpot(List<ParkingFloor> floors, Vehicle vehicle) {
+        ParkingFloor best = null;
+        double bestOccupancy = Double.MAX_VALUE;
+        for (ParkingFloor floor : floors) {
+            double occupancy = occupancy(floor, vehicle.getSize());
+            if (occupancy < bestOccupancy) {
+                best = floor;
+                bestOccupancy = occupancy;
+            }
+        }
+        if (best == null)
+            return Optional.empty();
+        Optional<ParkingSpot> spot = best.claimSpot(vehicle);
+        if (spot.isPresent())
+            return spot;
+        // the least loaded floor filled up under us; take whatever is left anywhere
+        for (ParkingFloor floor : floors) {
+            if (floor != best && floor.hasCapacityFor(vehicle)) {
+                spot = floor.claimSpot(vehicle);
+                if (spot.isPresent())
+                    return spot;
+            }
+        }
+        return Optional.empty();
+    }
+
+    // fraction of the spots this vehicle could use that are taken; floors with none free are skipped
+    private static double occupancy(ParkingFloor floor, VehicleSize vehicleSize) {
+        int total = 0;
+        int free = 0;
+        for (VehicleSize size : VehicleSize.values()) {
+            if (size.ordinal() >= vehicleSize.ordinal()) {
+                total += floor.getSpotCount(size);
+                free += floor.getAvailableSpotCount(size);
+            }
+        }
+        return free == 0 ? Double.MAX_VALUE : 1.0 - (double) free / total;
+    }
+}
@@ -8,9 +8,11 @@ import java.util.List;
 import java.util.Optional;
 
 public class NearestFloorStrategy implements ParkingStrategy{
-    public Optional<ParkingSpot> findSpot(List<ParkingFloor> floors, Vehicle vehicle){
+    public Optional<ParkingSpot> claimSpot(List<ParkingFloor> floors, Vehicle vehicle){
         for(ParkingFloor floor: floors){
-            Optional<ParkingSpot> freeSpot = floor.findAvailableSpot(vehicle);
+            if(!floor.hasCapacityFor(vehicle))
+                continue;
+            Optional<ParkingSpot> freeSpot = floor.claimSpot(vehicle);
             if(freeSpot.isPresent())
                 return  freeSpot;
         }
@@ -0,0 +1,187 @@
+package ParkingLot.strategy.parking;
+
+import ParkingLot.entities.FreeSpotIndex;
+import ParkingLot.entities.ParkingFloor;
+import ParkingLot.entities.ParkingSpot;
+import ParkingLot.entities.SpotListener;
+import ParkingLot.vehicles.Vehicle;
+import ParkingLot.vehicles.VehicleSize;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Parks each vehicle in the free spot closest to the gate it entered through.
+// For every gate and spot size the spots are sorted by distance once, when a floor is added, and a
+// free-spot bitset is kept over that ranking; claiming is then "lowest set bit" plus one CAS.
+// Distance is |level difference| * levelDistance + |spot position - gate position|.
+// An instance indexes the floors of one lot at a time; the lot detaches it when it switches strategy.
+public class NearestGateStrategy implements ParkingStrategy, SpotListener {
+    private final List<Gate> gates;
+    private final Map<Integer, Integer> gateIndexById = new HashMap<>();
+    private final int levelDistance;
+    private final List<ParkingFloor> floors = new ArrayList<>();
+    private boolean attached;
+    private volatile Ranking ranking;
+
+    // the per-gate indexes and each spot's rank in them, published together so a listener never pairs
+    // one rebuild's ranks with another rebuild's bitsets
+    private static class Ranking {
+        private final GateIndex[][] indexes;
+        // spot -> its rank in each gate's ordering (indexed like gates)
+        private final Map<ParkingSpot, int[]> ranks;
+
+        Ranking(GateIndex[][] indexes, Map<ParkingSpot, int[]> ranks) {
+            this.indexes = indexes;
+            this.ranks = ranks;
+        }
+    }
+
+    private static class GateIndex {
+        private final ParkingSpot[] spotsByRank;
+        private final FreeSpotIndex freeRanks;
+
+        GateIndex(ParkingSpot[] spotsByRank, FreeSpotIndex freeRanks) {
+            this.spotsByRank = spotsByRank;
+            this.freeRanks = freeRanks;
+        }
+    }
+
+    public NearestGateStrategy(List<Gate> gates, int levelDistance) {
+        if (gates.isEmpty())
+            throw new IllegalArgumentException("At least one gate is required");
+        this.gates = List.copyOf(gates);
+        this.levelDistance = levelDistance;
+        for (int i = 0; i < this.gates.size(); i++) {
+            gateIndexById.put(this.gates.get(i).getGateId(), i);
+        }
+        this.ranking = new Ranking(new GateIndex[gates.size()][VehicleSize.values().length], new IdentityHashMap<>());
+    }
+
+    @Override
+    public synchronized void onAttached() {
+        if (attached)
+            throw new IllegalStateException("NearestGateStrategy is already in use by a parking lot");
+        attached = true;
+    }
+
+    @Override
+    public synchronized void onDetached() {
+        for (ParkingFloor floor : floors) {
+            floor.removeSpotListener(this);
+        }
+        floors.clear();
+        attached = false;
+        rebuild();
+    }
+
+    // Subscribes before reading any spot, so a change during the rebuild is either seen by the rebuild
+    // or delivered to the listener afterwards.
+    @Override
+    public synchronized void onFloorAdded(ParkingFloor floor) {
+        for (ParkingFloor known : floors) {
+            if (known == floor)
+                throw new IllegalArgumentException("Floor " + floor.getFloorId() + " is already indexed");
+        }
+        floors.add(floor);
+        floor.addSpotListener(this);
+        rebuild();
+    }
+
+    // without a gate the first configured gate is used
+    @Override
+    public Optional<ParkingSpot> claimSpot(List<ParkingFloor> floors, Vehicle vehicle) {
+        return claimSpot(floors, vehicle, gates.get(0).getGateId());
+    }
+
+    // gates that were not configured fall back to the first gate's ordering
+    @Override
+    public Optional<ParkingSpot> claimSpot(List<ParkingFloor> floors, Vehicle vehicle, int gateId) {
+        GateIndex[] byGate = ranking.indexes[gateIndexById.getOrDefault(gateId, 0)];
+        for (VehicleSize size : VehicleSize.values()) {
+            if (size.ordinal() < vehicle.getSize().ordinal())
+                continue;
+            GateIndex index = byGate[size.ordinal()];
+            if (index == null || index.freeRanks.freeCount() == 0)
+                continue;
+            for (int rank = index.freeRanks.firstFree(0); rank >= 0; rank = index.freeRanks.firstFree(rank + 1)) {
+                ParkingSpot spot = index.spotsByRank[rank];
+                if (spot.tryClaim(vehicle))
+                    return Optional.of(spot);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public void onSpotClaimed(ParkingSpot spot) {
+        sync(ranking, spot);
+    }
+
+    @Override
+    public void onSpotReleased(ParkingSpot spot) {
+        sync(ranking, spot);
+    }
+
+    // Copies the spot's real state into its bit for every gate, then re-reads it: a writer racing with a
+    // change sees the new state on the re-read and writes again, so the last write always matches the spot.
+    private static void sync(Ranking current, ParkingSpot spot) {
+        int[] spotRanks = current.ranks.get(spot);
+        if (spotRanks == null)
+            return;
+        boolean free;
+        do {
+            free = spot.isAvailable();
+            for (int g = 0; g < spotRanks.length; g++) {
+                FreeSpotIndex freeRanks = current.indexes[g][spot.getSpotType().ordinal()].freeRanks;
+                if (free)
+                    freeRanks.markFree(spotRanks[g]);
+                else
+                    freeRanks.markOccupied(spotRanks[g]);
+            }
+        } while (spot.isAvailable() != free);
+    }
+
+    private void rebuild() {
+        Map<ParkingFloor, Integer> levels = new IdentityHashMap<>();
+        Map<VehicleSize, List<ParkingSpot>> spotsBySize = new HashMap<>();
+        for (int level = 0; level < floors.size(); level++) {
+            levels.put(floors.get(level), level);
+            for (ParkingSpot spot : floors.get(level).getSpots()) {
+                spotsBySize.computeIfAbsent(spot.getSpotType(), k -> new ArrayList<>()).add(spot);
+            }
+        }
+        GateIndex[][] nextIndexes = new GateIndex[gates.size()][VehicleSize.values().length];
+        Map<ParkingSpot, int[]> nextRanks = new IdentityHashMap<>();
+        for (int g = 0; g < gates.size(); g++) {
+            Gate gate = gates.get(g);
+            for (Map.Entry<VehicleSize, List<ParkingSpot>> entry : spotsBySize.entrySet()) {
+                List<ParkingSpot> ordered = new ArrayList<>(entry.getValue());
+                ordered.sort(Comparator.comparingInt(spot -> distance(gate, spot, levels.get(spot.getFloor()))));
+                FreeSpotIndex freeRanks = new FreeSpotIndex();
+                for (int rank = 0; rank < ordered.size(); rank++) {
+                    ParkingSpot spot = ordered.get(rank);
+                    freeRanks.addSlot();
+                    if (!spot.isAvailable())
+                        freeRanks.markOccupied(rank);
+                    nextRanks.computeIfAbsent(spot, k -> new int[gates.size()])[g] = rank;
+                }
+                nextIndexes[g][entry.getKey().ordinal()] = new GateIndex(ordered.toArray(new ParkingSpot[0]), freeRanks);
+            }
+        }
+        Ranking next = new Ranking(nextIndexes, nextRanks);
+        this.ranking = next;
+        // changes that landed in the old ranking while this one was being built are re-read here
+        for (ParkingSpot spot : nextRanks.keySet()) {
+            sync(next, spot);
+        }
+    }
+
+    private int distance(Gate gate, ParkingSpot spot, int level) {
+        return Math.abs(level - gate.getLevel()) * levelDistance + Math.abs(spot.getPosition() - gate.getPosition());
+    }
+}
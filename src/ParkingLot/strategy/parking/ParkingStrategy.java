@@ -7,6 +7,23 @@ import ParkingLot.vehicles.Vehicle;
 import java.util.List;
 import java.util.Optional;
 
+// Implementations must claim the spot they return (ParkingSpot.tryClaim or ParkingFloor.claimSpot),
+// so that finding and occupying a spot is one atomic step even with many gates parking at once.
 public interface ParkingStrategy {
-    public Optional<ParkingSpot> findSpot(List<ParkingFloor> floors, Vehicle vehicle);
+    public Optional<ParkingSpot> claimSpot(List<ParkingFloor> floors, Vehicle vehicle);
+
+    // gate-aware strategies override this; the rest ignore where the vehicle came in
+    public default Optional<ParkingSpot> claimSpot(List<ParkingFloor> floors, Vehicle vehicle, int gateId) {
+        return claimSpot(floors, vehicle);
+    }
+
+    // called once per floor, in the order the lot adds them, so strategies can build their indexes up front
+    public default void onFloorAdded(ParkingFloor floor) {}
+
+    // A lot calls onAttached before handing over its floors and onDetached once it has switched to another
+    // strategy. Strategies that index a lot's floors serve one lot at a time and throw IllegalStateException
+    // from onAttached when they are already in use.
+    public default void onAttached() {}
+
+    public default void onDetached() {}
 }
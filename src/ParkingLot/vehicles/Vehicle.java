@@ -8,6 +8,17 @@ public abstract class Vehicle {
         this.size = size;
     }
 
+    public static Vehicle of(String license, VehicleSize size) {
+        switch (size) {
+            case SMALL:
+                return new SmallVehicle(license);
+            case MEDIUM:
+                return new MediumVehicle(license);
+            default:
+                return new LargeVehicle(license);
+        }
+    }
+
     public VehicleSize getSize() {
         return size;
     }
@@ -0,0 +1,90 @@
+package bookMyShow;
+
+import java.util.Date;
+import java.util.List;
+
+class Booking {
+    private int bookingId;
+    private Show show;
+    private Theatre theatre;
+    private Movie movie;
+    private List<ShowSeat> bookedShowSeats;
+    private User user;
+    private Date bookingTime;
+    private volatile BookingStatus bookingStatus;
+
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    private double totalAmount;
+
+
+    public Booking(int bookingId, Show show, Theatre theatre, Movie movie, List<ShowSeat> showSeats, User user, Date bookingTime) {
+        this.bookingId = bookingId;
+        this.show = show;
+        this.theatre = theatre;
+        this.movie = movie;
+        this.bookedShowSeats = showSeats;
+        this.user = user;
+        this.bookingTime = bookingTime;
+        this.bookingStatus = BookingStatus.PENDING;
+        for (ShowSeat seat : showSeats) {
+            this.totalAmount += seat.getPrice();
+        }
+    }
+
+    public BookingStatus getBookingStatus() {
+        return bookingStatus;
+    }
+
+    void setBookingStatus(BookingStatus bookingStatus) {
+        this.bookingStatus = bookingStatus;
+    }
+
+    void setTotalAmount(double totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public int getBookingId() {
+        return bookingId;
+    }
+
+    public Show getShow() {
+        return show;
+    }
+
+    public Theatre getTheatre() {
+        return theatre;
+    }
+
+    public Movie getMovie() {
+        return movie;
+    }
+
+    public List<ShowSeat> getShowSeats() {
+        return List.copyOf(bookedShowSeats);
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public Date getBookingTime() {
+        return bookingTime;
+    }
+
+    public void confirmBooking() {
+        this.bookingStatus = BookingStatus.CONFIRMED;
+        for (ShowSeat seat : bookedShowSeats) {
+            seat.bookSeat();
+        }
+    }
+
+    public void cancelBooking() {
+        this.bookingStatus = BookingStatus.CANCELLED;
+        for (ShowSeat seat : bookedShowSeats) {
+            seat.releaseSeat();
+        }
+    }
+}
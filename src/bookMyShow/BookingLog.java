@@ -0,0 +1,220 @@
+package bookMyShow;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32;
+
+// Write-ahead log for one shard of the booking store, framed as [length][crc32][payload].
+// Appends go onto a lock-free queue and return a future; the shard's writer thread takes everything that
+// queued up while the previous fsync was running, writes it in one go, fsyncs once and then completes all
+// of those futures. Under a launch spike one fsync covers thousands of bookings.
+class BookingLog implements Closeable {
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final int MAX_BATCH = 4096;
+
+    private static final class Pending {
+        private final byte[] frame;
+        private final CompletableFuture<Void> durable = new CompletableFuture<>();
+
+        Pending(byte[] frame) {
+            this.frame = frame;
+        }
+    }
+
+    private final FileChannel channel;
+    private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile IOException failure;
+
+    private BookingLog(Path file, String name) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.writer = new Thread(this::writeLoop, name);
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    // Replays the log, rewrites it with only the latest record per booking, then opens it for appends.
+    static BookingLog open(Path file, List<BookingRecord> recovered) throws IOException {
+        Collection<BookingRecord> latest = replay(file);
+        Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (BookingRecord record : latest) {
+                out.write(ByteBuffer.wrap(frame(encode(record))));
+            }
+            out.force(true);
+        }
+        Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        recovered.addAll(latest);
+        return new BookingLog(file, "booking-log-" + file.getFileName());
+    }
+
+    // Stops at the first torn or corrupt frame; whatever follows it was never acknowledged.
+    static Collection<BookingRecord> replay(Path file) throws IOException {
+        Map<Integer, BookingRecord> latest = new LinkedHashMap<>();
+        if (!Files.exists(file))
+            return latest.values();
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        CRC32 crc = new CRC32();
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining())
+                break;
+            ByteBuffer payload = buffer.slice().limit(length);
+            buffer.position(buffer.position() + length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum)
+                break;
+            try {
+                BookingRecord record = decode(payload);
+                latest.put(record.getBookingId(), record);
+            } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+                break;
+            }
+        }
+        return latest.values();
+    }
+
+    // completes once the record is on disk
+    CompletableFuture<Void> append(BookingRecord record) {
+        if (failure != null)
+            return CompletableFuture.failedFuture(new UncheckedIOException("Booking log is no longer writable", failure));
+        if (!running)
+            return CompletableFuture.failedFuture(new IllegalStateException("Booking log is closed"));
+        Pending entry = new Pending(frame(encode(record)));
+        pending.add(entry);
+        LockSupport.unpark(writer);
+        return entry.durable;
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Pending late;
+        while ((late = pending.poll()) != null) {
+            late.durable.completeExceptionally(new IllegalStateException("Booking log is closed"));
+        }
+        channel.close();
+        if (failure != null)
+            throw failure;
+    }
+
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>(MAX_BATCH);
+        while (true) {
+            Pending entry;
+            while (batch.size() < MAX_BATCH && (entry = pending.poll()) != null) {
+                batch.add(entry);
+            }
+            if (batch.isEmpty()) {
+                if (!running)
+                    return;
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            try {
+                int size = 0;
+                for (Pending p : batch) {
+                    size += p.frame.length;
+                }
+                ByteBuffer buffer = ByteBuffer.allocate(size);
+                for (Pending p : batch) {
+                    buffer.put(p.frame);
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                failure = e;
+                for (Pending p : batch) {
+                    p.durable.completeExceptionally(e);
+                }
+                while ((entry = pending.poll()) != null) {
+                    entry.durable.completeExceptionally(e);
+                }
+                return;
+            }
+            for (Pending p : batch) {
+                p.durable.complete(null);
+            }
+            batch.clear();
+        }
+    }
+
+    private static byte[] encode(BookingRecord record) {
+        byte[] key = record.getIdempotencyKey() == null ? new byte[0] : record.getIdempotencyKey().getBytes(StandardCharsets.UTF_8);
+        int[] seats = record.getSeatIndexes();
+        ByteBuffer payload = ByteBuffer.allocate(Integer.BYTES * 3 + 1 + Double.BYTES + Long.BYTES
+                + Short.BYTES + key.length + Short.BYTES + Integer.BYTES * seats.length);
+        payload.putInt(record.getBookingId())
+                .putInt(record.getShowId())
+                .putInt(record.getUserId())
+                .put((byte) record.getStatus().ordinal())
+                .putDouble(record.getAmount())
+                .putLong(record.getTimestampMillis())
+                .putShort((short) key.length).put(key)
+                .putShort((short) seats.length);
+        for (int seat : seats) {
+            payload.putInt(seat);
+        }
+        return payload.array();
+    }
+
+    private static BookingRecord decode(ByteBuffer payload) {
+        int bookingId = payload.getInt();
+        int showId = payload.getInt();
+        int userId = payload.getInt();
+        BookingStatus status = BookingStatus.values()[payload.get()];
+        double amount = payload.getDouble();
+        long timestamp = payload.getLong();
+        byte[] key = new byte[payload.getShort() & 0xFFFF];
+        payload.get(key);
+        int[] seats = new int[payload.getShort() & 0xFFFF];
+        for (int i = 0; i < seats.length; i++) {
+            seats[i] = payload.getInt();
+        }
+        return new BookingRecord(bookingId, showId, userId, status, amount, timestamp,
+                key.length == 0 ? null : new String(key, StandardCharsets.UTF_8), seats);
+    }
+
+    private static byte[] frame(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return ByteBuffer.allocate(HEADER_BYTES + payload.length)
+                .putInt(payload.length)
+                .putInt((int) crc.getValue())
+                .put(payload)
+                .array();
+    }
+}
@@ -0,0 +1,76 @@
+package bookMyShow;
+
+import java.util.Arrays;
+
+// What the booking store keeps for a booking. Each status change is written as a whole new record
+// and the latest one for a bookingId wins, so the log never needs in-place updates.
+final class BookingRecord {
+    private final int bookingId;
+    private final int showId;
+    private final int userId;
+    private final BookingStatus status;
+    private final double amount;
+    private final long timestampMillis;
+    private final String idempotencyKey;
+    private final int[] seatIndexes;
+
+    BookingRecord(int bookingId, int showId, int userId, BookingStatus status, double amount, long timestampMillis,
+                  String idempotencyKey, int[] seatIndexes) {
+        this.bookingId = bookingId;
+        this.showId = showId;
+        this.userId = userId;
+        this.status = status;
+        this.amount = amount;
+        this.timestampMillis = timestampMillis;
+        this.idempotencyKey = idempotencyKey;
+        this.seatIndexes = seatIndexes;
+    }
+
+    static BookingRecord of(Booking booking, String idempotencyKey) {
+        int[] seats = booking.getShowSeats().stream().mapToInt(ShowSeat::getIndex).toArray();
+        return new BookingRecord(booking.getBookingId(), booking.getShow().getShowId(), booking.getUser().getUserID(),
+                booking.getBookingStatus(), booking.getTotalAmount(), System.currentTimeMillis(), idempotencyKey, seats);
+    }
+
+    BookingRecord withStatus(BookingStatus newStatus) {
+        return new BookingRecord(bookingId, showId, userId, newStatus, amount, System.currentTimeMillis(), idempotencyKey, seatIndexes);
+    }
+
+    public int getBookingId() {
+        return bookingId;
+    }
+
+    public int getShowId() {
+        return showId;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public BookingStatus getStatus() {
+        return status;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public int[] getSeatIndexes() {
+        return seatIndexes.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "BookingRecord{" + bookingId + ", show=" + showId + ", user=" + userId + ", " + status
+                + ", amount=" + amount + ", seats=" + Arrays.toString(seatIndexes) + "}";
+    }
+}
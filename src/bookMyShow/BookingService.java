@@ -0,0 +1,207 @@
+package bookMyShow;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class BookingService{
+    private MovieController movieController;
+    private TheatreController theatreController;
+    private final PaymentService paymentService;
+    private final SeatHoldManager seatHoldManager;
+    private final Duration paymentTimeout;
+    private final AtomicInteger bookingIds = new AtomicInteger();
+    private final Map<Integer, ContiguousSeatAllocator> allocators = new ConcurrentHashMap<>();
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private volatile BookingStore bookingStore;
+    private volatile PricingEngine pricingEngine;
+
+    public BookingService( MovieController movieController, TheatreController theatreController) {
+        this(movieController, theatreController, new PaymentService(), new SeatHoldManager(Duration.ofMinutes(10)), Duration.ofSeconds(30));
+    }
+
+    public BookingService(MovieController movieController, TheatreController theatreController, PaymentService paymentService,
+                          SeatHoldManager seatHoldManager, Duration paymentTimeout) {
+        this.movieController = movieController;
+        this.theatreController = theatreController;
+        this.paymentService = paymentService;
+        this.seatHoldManager = seatHoldManager;
+        this.paymentTimeout = paymentTimeout;
+    }
+
+    // From here on every booking is logged to the store before payment and again with its outcome.
+    // What the store already holds is applied to the given shows first: seats of CONFIRMED bookings are
+    // booked again so they cannot be sold twice, and a booking a stopped process left PENDING is refunded
+    // if it was charged and closed as CANCELLED.
+    public void enableBookingStore(BookingStore bookingStore, Collection<Show> shows) {
+        bookingIds.accumulateAndGet(bookingStore.getMaxBookingId(), Math::max);
+        for (Show show : shows) {
+            for (BookingRecord record : bookingStore.getBookingsForShow(show.getShowId())) {
+                if (record.getStatus() == BookingStatus.CONFIRMED) {
+                    List<ShowSeat> seats = show.seatsAt(record.getSeatIndexes());
+                    if (seats == null || !show.blockSeats(seats) || !show.bookSeats(seats))
+                        System.err.println("Booking " + record.getBookingId() + " could not get its seats back on show " + show.getShowId());
+                } else if (record.getStatus() == BookingStatus.PENDING) {
+                    cancelUnfinished(bookingStore, record);
+                }
+            }
+        }
+        this.bookingStore = bookingStore;
+    }
+
+    // Bookings are charged the engine's current tier prices instead of the seats' fixed prices.
+    public void enablePricing(PricingEngine pricingEngine) {
+        this.pricingEngine = pricingEngine;
+    }
+
+    // Holds the seats, then pays without tying up the caller's thread. The completion stage confirms the
+    // hold when the payment succeeds, or releases the seats when it fails or does not answer in time;
+    // the returned booking ends up CONFIRMED or CANCELLED. Fails straight away if any seat is taken.
+    public CompletableFuture<Booking> book(User user, Theatre theatre, Show show, List<ShowSeat> seats, String paymentMethod) {
+        PriceSnapshot prices = quote(show);
+        Optional<SeatHold> hold = seatHoldManager.hold(show, seats);
+        if (hold.isEmpty())
+            return CompletableFuture.failedFuture(new IllegalStateException("Selected seats are no longer available"));
+        return pay(user, theatre, hold.get(), paymentMethod, null, prices);
+    }
+
+    // Safe to retry after a timeout: a repeat of the same key for the same show joins the attempt still in
+    // flight, or gets back the booking the store already has, instead of holding and paying a second time.
+    // A key the store left PENDING belongs to a process that stopped mid-payment; its seats went with it,
+    // so that booking is refunded if it was charged and closed as CANCELLED rather than retried.
+    public CompletableFuture<Booking> book(String idempotencyKey, User user, Theatre theatre, Show show, List<ShowSeat> seats, String paymentMethod) {
+        BookingStore store = bookingStore;
+        if (store == null)
+            throw new IllegalStateException("Idempotent bookings need a booking store, see enableBookingStore");
+        String requestKey = show.getShowId() + "/" + idempotencyKey;
+        CompletableFuture<Booking> request = new CompletableFuture<>();
+        InFlight entry = new InFlight(user.getUserID(), seats.stream().mapToInt(ShowSeat::getIndex).toArray(), request);
+        InFlight running = inFlight.putIfAbsent(requestKey, entry);
+        if (running != null) {
+            // a retry joins the attempt only if it asks for the same booking, as for a stored record below
+            if (running.userId() != user.getUserID() || !sameSeats(running.seatIndexes(), seats))
+                return CompletableFuture.failedFuture(
+                        new IllegalArgumentException("Idempotency key " + idempotencyKey + " was used for a different booking"));
+            return running.result();
+        }
+
+        Optional<BookingRecord> stored = store.findByIdempotencyKey(show.getShowId(), idempotencyKey);
+        CompletableFuture<Booking> attempt;
+        if (stored.isPresent()) {
+            BookingRecord record = stored.get();
+            List<ShowSeat> recordedSeats = show.seatsAt(record.getSeatIndexes());
+            if (record.getUserId() != user.getUserID() || recordedSeats == null || !sameSeats(record.getSeatIndexes(), seats)) {
+                attempt = CompletableFuture.failedFuture(
+                        new IllegalArgumentException("Idempotency key " + idempotencyKey + " was used for a different booking"));
+            } else {
+                // the stored record is the booking; the retry only has to name the same one
+                Booking booking = new Booking(record.getBookingId(), show, theatre, show.getMovie(), recordedSeats, user, new Date(record.getTimestampMillis()));
+                booking.setTotalAmount(record.getAmount());
+                booking.setBookingStatus(record.getStatus() == BookingStatus.PENDING ? BookingStatus.CANCELLED : record.getStatus());
+                attempt = record.getStatus() == BookingStatus.PENDING
+                        ? cancelUnfinished(store, record).thenApply(saved -> booking)
+                        : CompletableFuture.completedFuture(booking);
+            }
+        } else {
+            PriceSnapshot prices = quote(show);
+            Optional<SeatHold> hold = seatHoldManager.hold(show, seats);
+            attempt = hold.isEmpty()
+                    ? CompletableFuture.failedFuture(new IllegalStateException("Selected seats are no longer available"))
+                    : pay(user, theatre, hold.get(), paymentMethod, idempotencyKey, prices);
+        }
+        // the outcome is in the store before this completes, so later retries are answered from there
+        attempt.whenComplete((booking, error) -> {
+            inFlight.remove(requestKey, entry);
+            if (error != null)
+                request.completeExceptionally(error);
+            else
+                request.complete(booking);
+        });
+        return request;
+    }
+
+    // "count seats together": picks the best adjacent block of the given type for the user, then books it like book()
+    public CompletableFuture<Booking> bookTogether(User user, Theatre theatre, Show show, SeatType seatType, int count, String paymentMethod) {
+        ContiguousSeatAllocator allocator = allocators.computeIfAbsent(show.getShowId(), k -> new ContiguousSeatAllocator(show, seatHoldManager));
+        PriceSnapshot prices = quote(show);
+        Optional<SeatHold> hold = allocator.holdTogether(seatType, count);
+        if (hold.isEmpty())
+            return CompletableFuture.failedFuture(new IllegalStateException("No " + count + " adjacent " + seatType + " seats available"));
+        return pay(user, theatre, hold.get(), paymentMethod, null, prices);
+    }
+
+    // Read before the hold is taken: the hold's own seats count as demand once blocked, and the user is charged
+    // the price that was on offer when they asked, not one raised by their own booking.
+    private PriceSnapshot quote(Show show) {
+        PricingEngine engine = pricingEngine;
+        return engine != null ? engine.getSnapshot(show) : null;
+    }
+
+    private CompletableFuture<Booking> pay(User user, Theatre theatre, SeatHold hold, String paymentMethod, String idempotencyKey,
+                                           PriceSnapshot prices) {
+        Show show = hold.getShow();
+        Booking booking = new Booking(bookingIds.incrementAndGet(), show, theatre, show.getMovie(), hold.getSeats(), user, new Date());
+        if (prices != null) {
+            double amount = 0;
+            for (ShowSeat seat : hold.getSeats()) {
+                amount += prices.getPrice(seat.getSeat().getSeatType());
+            }
+            booking.setTotalAmount(amount);
+        }
+        BookingStore store = bookingStore;
+        CompletableFuture<?> logged = store == null
+                ? CompletableFuture.completedFuture(null)
+                : store.save(BookingRecord.of(booking, idempotencyKey));
+        AtomicBoolean cancelled = new AtomicBoolean();
+        // the gateway cannot be called off, so the charge keeps running past the timeout; only a copy times out
+        CompletableFuture<Payment> charge = logged.thenCompose(ignored -> cancelled.get()
+                ? CompletableFuture.completedFuture(null)
+                : paymentService.processPaymentAsync(booking, paymentMethod));
+        return charge.copy()
+                .orTimeout(paymentTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((payment, error) -> {
+                    boolean paid = error == null && payment.getPaymentStatus() == PaymentStatus.COMPLETED;
+                    if (paid && seatHoldManager.confirm(hold)) {
+                        booking.setBookingStatus(BookingStatus.CONFIRMED);
+                        paymentService.settled(booking.getBookingId());
+                    } else {
+                        cancelled.set(true);
+                        // a hold that already expired has released its seats on its own
+                        seatHoldManager.release(hold);
+                        booking.setBookingStatus(BookingStatus.CANCELLED);
+                        // money taken for seats the booking no longer has, now or when a late answer arrives, goes back
+                        charge.thenCompose(paymentService::refundIfChargedAsync)
+                                .thenRun(() -> paymentService.settled(booking.getBookingId()));
+                    }
+                    return booking;
+                })
+                .thenCompose(settled -> store == null
+                        ? CompletableFuture.completedFuture(settled)
+                        : store.save(BookingRecord.of(settled, idempotencyKey)).thenApply(saved -> settled));
+    }
+
+    private CompletableFuture<BookingRecord> cancelUnfinished(BookingStore store, BookingRecord record) {
+        return paymentService.refundIfChargedAsync(record.getBookingId())
+                .thenCompose(refunded -> store.save(record.withStatus(BookingStatus.CANCELLED)));
+    }
+
+    private record InFlight(int userId, int[] seatIndexes, CompletableFuture<Booking> result) {
+    }
+
+    private static boolean sameSeats(int[] recorded, List<ShowSeat> requested) {
+        int[] expected = recorded.clone();
+        int[] actual = requested.stream().mapToInt(ShowSeat::getIndex).distinct().toArray();
+        Arrays.sort(expected);
+        Arrays.sort(actual);
+        return Arrays.equals(expected, actual);
+    }
+}
@@ -0,0 +1,7 @@
+package bookMyShow;
+
+enum BookingStatus {
+    PENDING,
+    CONFIRMED,
+    CANCELLED
+}
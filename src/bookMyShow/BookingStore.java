@@ -0,0 +1,116 @@
+package bookMyShow;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Durable home for bookings, sharded by show id so one hot show only loads its own shard's log.
+// Each shard has its own write-ahead log (bookings-<n>.wal, group-committed) and in-memory indexes that are
+// updated when a record is appended; save() completes only after the record is fsynced.
+// The shard count is part of the on-disk layout: reopen a directory with the count it was created with.
+class BookingStore implements Closeable {
+    private record RequestKey(int showId, String idempotencyKey) {
+    }
+
+    private static final class Shard {
+        private final BookingLog log;
+        private final Map<Integer, BookingRecord> byBookingId = new ConcurrentHashMap<>();
+        private final Map<RequestKey, BookingRecord> byIdempotencyKey = new ConcurrentHashMap<>();
+        private final Map<Integer, Map<Integer, BookingRecord>> byShow = new ConcurrentHashMap<>();
+
+        Shard(BookingLog log) {
+            this.log = log;
+        }
+
+        void index(BookingRecord record) {
+            byBookingId.put(record.getBookingId(), record);
+            if (record.getIdempotencyKey() != null)
+                byIdempotencyKey.put(new RequestKey(record.getShowId(), record.getIdempotencyKey()), record);
+            byShow.computeIfAbsent(record.getShowId(), k -> new ConcurrentHashMap<>()).put(record.getBookingId(), record);
+        }
+    }
+
+    private final Shard[] shards;
+    private final int maxBookingId;
+
+    private BookingStore(Shard[] shards, int maxBookingId) {
+        this.shards = shards;
+        this.maxBookingId = maxBookingId;
+    }
+
+    public static BookingStore open(Path directory, int shardCount) throws IOException {
+        Files.createDirectories(directory);
+        Shard[] shards = new Shard[shardCount];
+        int maxBookingId = 0;
+        try {
+            for (int i = 0; i < shardCount; i++) {
+                List<BookingRecord> recovered = new ArrayList<>();
+                shards[i] = new Shard(BookingLog.open(directory.resolve("bookings-" + i + ".wal"), recovered));
+                for (BookingRecord record : recovered) {
+                    shards[i].index(record);
+                    maxBookingId = Math.max(maxBookingId, record.getBookingId());
+                }
+            }
+        } catch (IOException e) {
+            for (Shard shard : shards) {
+                if (shard != null)
+                    shard.log.close();
+            }
+            throw e;
+        }
+        return new BookingStore(shards, maxBookingId);
+    }
+
+    // Indexes the record straight away (so a retry with the same key finds it) and completes once it is durable.
+    public CompletableFuture<BookingRecord> save(BookingRecord record) {
+        Shard shard = shardFor(record.getShowId());
+        shard.index(record);
+        return shard.log.append(record).thenApply(ignored -> record);
+    }
+
+    // Idempotency keys are scoped to a show.
+    public Optional<BookingRecord> findByIdempotencyKey(int showId, String idempotencyKey) {
+        return Optional.ofNullable(shardFor(showId).byIdempotencyKey.get(new RequestKey(showId, idempotencyKey)));
+    }
+
+    public Optional<BookingRecord> findBooking(int showId, int bookingId) {
+        return Optional.ofNullable(shardFor(showId).byBookingId.get(bookingId));
+    }
+
+    public Collection<BookingRecord> getBookingsForShow(int showId) {
+        Map<Integer, BookingRecord> bookings = shardFor(showId).byShow.get(showId);
+        return bookings != null ? Collections.unmodifiableCollection(bookings.values()) : List.of();
+    }
+
+    // highest booking id seen on disk, so a restarted BookingService does not hand out ids again
+    public int getMaxBookingId() {
+        return maxBookingId;
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (Shard shard : shards) {
+            try {
+                shard.log.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null)
+            throw failure;
+    }
+
+    private Shard shardFor(int showId) {
+        return shards[Math.floorMod(showId, shards.length)];
+    }
+}
@@ -0,0 +1,19 @@
+package bookMyShow;
+
+class City {
+    public int id;
+    public String name;
+
+    public City(int id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
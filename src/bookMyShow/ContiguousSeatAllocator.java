@@ -0,0 +1,189 @@
+package bookMyShow;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+// Finds and holds k adjacent free seats of one SeatType ("4 together, GOLD") without the client scanning seats.
+// Each SeatType gets a segment tree over its rows laid end to end (front row first, seats in seatId order)
+// with a permanently taken gap between rows, so no run crosses a row. Every node keeps its free prefix,
+// free suffix and longest free run; the leftmost run of length k is found in one O(log n) descent.
+// The show's SeatMap reports each block/release, and the affected leaves are re-read from it.
+// Covers the seats the show has when the allocator is created.
+class ContiguousSeatAllocator implements SeatMap.Listener {
+    private static final int MAX_ATTEMPTS = 8;
+
+    private static final class RunTree {
+        private final ShowSeat[] seatAt; // null marks a row gap
+        private final int[] prefix;
+        private final int[] suffix;
+        private final int[] best;
+        private final int[] length;
+
+        RunTree(List<ShowSeat> layout) {
+            this.seatAt = layout.toArray(new ShowSeat[0]);
+            int n = Math.max(1, seatAt.length);
+            this.prefix = new int[4 * n];
+            this.suffix = new int[4 * n];
+            this.best = new int[4 * n];
+            this.length = new int[4 * n];
+        }
+
+        void build(SeatMap seatMap, int node, int lo, int hi) {
+            length[node] = hi - lo + 1;
+            if (lo == hi) {
+                setLeaf(node, seatAt[lo] != null && seatMap.isAvailable(seatAt[lo].getIndex()));
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            build(seatMap, 2 * node, lo, mid);
+            build(seatMap, 2 * node + 1, mid + 1, hi);
+            pull(node);
+        }
+
+        void refresh(SeatMap seatMap, int position, int node, int lo, int hi) {
+            if (lo == hi) {
+                setLeaf(node, seatMap.isAvailable(seatAt[lo].getIndex()));
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            if (position <= mid)
+                refresh(seatMap, position, 2 * node, lo, mid);
+            else
+                refresh(seatMap, position, 2 * node + 1, mid + 1, hi);
+            pull(node);
+        }
+
+        // first position of the leftmost free run of at least k, or -1
+        int find(int k, int node, int lo, int hi) {
+            if (best[node] < k)
+                return -1;
+            if (lo == hi)
+                return lo;
+            int mid = (lo + hi) >>> 1;
+            int left = 2 * node;
+            int right = left + 1;
+            if (best[left] >= k)
+                return find(k, left, lo, mid);
+            if (suffix[left] + prefix[right] >= k)
+                return mid - suffix[left] + 1;
+            return find(k, right, mid + 1, hi);
+        }
+
+        private void setLeaf(int node, boolean free) {
+            int value = free ? 1 : 0;
+            prefix[node] = value;
+            suffix[node] = value;
+            best[node] = value;
+        }
+
+        private void pull(int node) {
+            int left = 2 * node;
+            int right = left + 1;
+            prefix[node] = prefix[left] == length[left] ? length[left] + prefix[right] : prefix[left];
+            suffix[node] = suffix[right] == length[right] ? length[right] + suffix[left] : suffix[right];
+            best[node] = Math.max(Math.max(best[left], best[right]), suffix[left] + prefix[right]);
+        }
+    }
+
+    private final Show show;
+    private final SeatMap seatMap;
+    private final SeatHoldManager seatHoldManager;
+    private final Map<SeatType, RunTree> trees = new EnumMap<>(SeatType.class);
+    // by SeatMap index: which tree the seat is in and where
+    private final RunTree[] treeOfSeat;
+    private final int[] positionOfSeat;
+
+    ContiguousSeatAllocator(Show show, SeatHoldManager seatHoldManager) {
+        this.show = show;
+        this.seatMap = show.getSeatMap();
+        this.seatHoldManager = seatHoldManager;
+        List<ShowSeat> showSeats = show.getShowseats();
+        this.treeOfSeat = new RunTree[seatMap.size()];
+        this.positionOfSeat = new int[seatMap.size()];
+
+        Map<SeatType, TreeMap<Integer, List<ShowSeat>>> rowsByType = new EnumMap<>(SeatType.class);
+        for (ShowSeat showSeat : showSeats) {
+            rowsByType.computeIfAbsent(showSeat.getSeat().getSeatType(), k -> new TreeMap<>())
+                    .computeIfAbsent(showSeat.getSeat().getRow(), k -> new ArrayList<>())
+                    .add(showSeat);
+        }
+        for (Map.Entry<SeatType, TreeMap<Integer, List<ShowSeat>>> entry : rowsByType.entrySet()) {
+            List<ShowSeat> layout = new ArrayList<>();
+            for (List<ShowSeat> row : entry.getValue().values()) {
+                if (!layout.isEmpty())
+                    layout.add(null);
+                row.sort(Comparator.comparingInt(seat -> seat.getSeat().getSeatId()));
+                layout.addAll(row);
+            }
+            RunTree tree = new RunTree(layout);
+            for (int position = 0; position < layout.size(); position++) {
+                ShowSeat seat = layout.get(position);
+                if (seat != null) {
+                    treeOfSeat[seat.getIndex()] = tree;
+                    positionOfSeat[seat.getIndex()] = position;
+                }
+            }
+            trees.put(entry.getKey(), tree);
+        }
+        // listen first, then build, so a change racing with construction is re-read rather than lost
+        seatMap.addListener(this);
+        for (RunTree tree : trees.values()) {
+            synchronized (tree) {
+                tree.build(seatMap, 1, 0, tree.seatAt.length - 1);
+            }
+        }
+    }
+
+    // Holds the front-most, left-most block of count adjacent seats of the given type.
+    // A block found in the tree can lose a race to another booking path; those seats are re-read and the
+    // search runs again, a bounded number of times.
+    Optional<SeatHold> holdTogether(SeatType seatType, int count) {
+        RunTree tree = trees.get(seatType);
+        if (tree == null || count <= 0)
+            return Optional.empty();
+        synchronized (tree) {
+            for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+                int start = tree.find(count, 1, 0, tree.seatAt.length - 1);
+                if (start < 0)
+                    return Optional.empty();
+                List<ShowSeat> seats = new ArrayList<>(count);
+                for (int position = start; position < start + count; position++) {
+                    seats.add(tree.seatAt[position]);
+                }
+                Optional<SeatHold> hold = seatHoldManager.hold(show, seats);
+                if (hold.isPresent())
+                    return hold;
+                for (int position = start; position < start + count; position++) {
+                    tree.refresh(seatMap, position, 1, 0, tree.seatAt.length - 1);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    int longestRun(SeatType seatType) {
+        RunTree tree = trees.get(seatType);
+        if (tree == null)
+            return 0;
+        synchronized (tree) {
+            return tree.best[1];
+        }
+    }
+
+    @Override
+    public void onAvailabilityChanged(int[] seats, boolean available) {
+        for (int seat : seats) {
+            if (seat >= treeOfSeat.length)
+                continue;
+            RunTree tree = treeOfSeat[seat];
+            synchronized (tree) {
+                tree.refresh(seatMap, positionOfSeat[seat], 1, 0, tree.seatAt.length - 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package bookMyShow;
+
+class Movie {
+    private final int movieId;
+    private final String movieName;
+    private final int duration;
+    private final String language;
+    private final String genre;
+
+    public Movie(int movieId, String movieName, int duration, String language, String genre) {
+        this.movieId = movieId;
+        this.movieName = movieName;
+        this.duration = duration;
+        this.language = language;
+        this.genre = genre;
+    }
+
+    public int getMovieId() {
+        return movieId;
+    }
+
+    public String getMovieName() {
+        return movieName;
+    }
+
+    public int getDuration() {
+        return duration;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public String getGenre() {
+        return genre;
+    }
+}
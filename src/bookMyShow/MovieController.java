@@ -0,0 +1,52 @@
+package bookMyShow;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class MovieController {
+    Map<City, List<Movie>> cityvsMovies;
+    List<Movie> allMovies;
+    private final Map<String, Movie> moviesByName = new HashMap<>();
+    private final MovieNameTrie movieNames = new MovieNameTrie();
+
+    public MovieController(Map<City, List<Movie>> cityvsMovies, List<Movie> allMovies) {
+        this.cityvsMovies = new HashMap<>();
+        this.allMovies = new ArrayList<>();
+    }
+
+    public void addMovie(Movie movie){
+        allMovies.add(movie);
+        moviesByName.putIfAbsent(movie.getMovieName(), movie);
+        movieNames.add(movie);
+    }
+
+    public void addCity(City city){
+        cityvsMovies.put(city, new ArrayList<>());
+    }
+
+    public void addCityForMovie(City city, Movie movie){
+        cityvsMovies.computeIfAbsent(city, k -> new ArrayList<>()).add(movie);
+    }
+
+    public List<Movie> getMovieByCity(City city){
+        return cityvsMovies.get(city)!= null ? cityvsMovies.get(city) : new ArrayList<>();
+    }
+
+    public List<City> getAllCities(){
+        return List.copyOf(cityvsMovies.keySet());
+    }
+
+    public Movie getMovieByName(String movieName) {
+        return moviesByName.get(movieName);
+    }
+
+    // Search-as-you-type: case-insensitive, at most limit movies.
+    public List<Movie> searchMoviesByPrefix(String prefix, int limit) {
+        return movieNames.findByPrefix(prefix, limit);
+    }
+
+    // ALL CRUD Operations removing and updating movie from a particular city
+
+}
@@ -0,0 +1,54 @@
+package bookMyShow;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Case-insensitive prefix index over movie names. A lookup walks the prefix once and then only visits
+// the subtree below it, so the cost is prefix length plus the number of names it returns.
+class MovieNameTrie {
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<Movie> movies = new ArrayList<>(1);
+    }
+
+    private final Node root = new Node();
+
+    public synchronized void add(Movie movie) {
+        Node node = root;
+        for (char c : normalize(movie.getMovieName()).toCharArray()) {
+            node = node.children.computeIfAbsent(c, k -> new Node());
+        }
+        node.movies.add(movie);
+    }
+
+    public synchronized List<Movie> findByPrefix(String prefix, int limit) {
+        List<Movie> result = new ArrayList<>();
+        Node node = root;
+        for (char c : normalize(prefix).toCharArray()) {
+            node = node.children.get(c);
+            if (node == null)
+                return result;
+        }
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(node);
+        while (!pending.isEmpty() && result.size() < limit) {
+            Node current = pending.pop();
+            for (Movie movie : current.movies) {
+                if (result.size() == limit)
+                    break;
+                result.add(movie);
+            }
+            pending.addAll(current.children.values());
+        }
+        return result;
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,61 @@
+package bookMyShow;
+
+import java.util.Date;
+
+class Payment {
+    private String paymentId;
+    private Booking booking;
+    private PaymentStatus paymentStatus;
+    private Date paymentTime;
+    private String paymentMethod;
+    private double amount;
+
+    public Payment(String paymentId, Booking booking, PaymentStatus paymentStatus, String paymentMethod, double amount) {
+        this.paymentId = paymentId;
+        this.booking = booking;
+        this.paymentStatus = paymentStatus;
+        this.paymentMethod = paymentMethod;
+        this.amount = amount;
+    }
+
+    public String getPaymentId() {
+        return paymentId;
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+
+    public synchronized PaymentStatus getPaymentStatus() {
+        return paymentStatus;
+    }
+
+    public synchronized Date getPaymenttDate() {
+        return paymentTime;
+    }
+
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public synchronized void completePayment() {
+        this.paymentStatus = PaymentStatus.COMPLETED;
+        this.paymentTime = new Date();
+    }
+
+    public synchronized void failPayment() {
+        this.paymentStatus = PaymentStatus.FAILED;
+    }
+
+    // only money that was actually taken can be given back
+    public synchronized boolean refundPayment() {
+        if (paymentStatus != PaymentStatus.COMPLETED)
+            return false;
+        this.paymentStatus = PaymentStatus.REFUNDED;
+        return true;
+    }
+}
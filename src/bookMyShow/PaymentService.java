@@ -0,0 +1,66 @@
+package bookMyShow;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+class PaymentService {
+    // Simulated gateway: the outcome is delivered by a timer after the gateway latency, so no caller
+    // thread sits in Thread.sleep while a payment is in flight.
+    private static final ScheduledExecutorService gateway = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "payment-gateway");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final long GATEWAY_LATENCY_MILLIS = 1000;
+    // The gateway's own record of charges by booking id, so a charge whose caller went away can still be found.
+    // An entry is dropped once its booking has settled either way.
+    private static final Map<Integer, Payment> charges = new ConcurrentHashMap<>();
+
+    public CompletableFuture<Payment> processPaymentAsync(Booking booking, String paymentMethod){
+        String paymentId = "PAY" + System.currentTimeMillis();
+        Payment payment = new Payment(paymentId , booking, PaymentStatus.PENDING,  paymentMethod, booking.getTotalAmount());
+        charges.put(booking.getBookingId(), payment);
+        CompletableFuture<Payment> result = new CompletableFuture<>();
+        gateway.schedule(() -> {
+            if(ThreadLocalRandom.current().nextDouble() < 0.9)
+                payment.completePayment();
+            else
+                payment.failPayment();
+            result.complete(payment);
+        }, GATEWAY_LATENCY_MILLIS, TimeUnit.MILLISECONDS);
+        return result;
+    }
+
+    // Completes with the payment, REFUNDED if it had been charged; null or uncharged payments come back as they are.
+    public CompletableFuture<Payment> refundIfChargedAsync(Payment payment){
+        if(payment == null || payment.getPaymentStatus() != PaymentStatus.COMPLETED)
+            return CompletableFuture.completedFuture(payment);
+        CompletableFuture<Payment> result = new CompletableFuture<>();
+        gateway.schedule(() -> {
+            payment.refundPayment();
+            result.complete(payment);
+        }, GATEWAY_LATENCY_MILLIS, TimeUnit.MILLISECONDS);
+        return result;
+    }
+
+    // For a booking whose outcome was lost, e.g. one left PENDING by a process that stopped mid-payment.
+    public CompletableFuture<Payment> refundIfChargedAsync(int bookingId){
+        Payment payment = charges.get(bookingId);
+        if(payment == null)
+            return CompletableFuture.completedFuture(null);
+        return refundIfChargedAsync(payment).whenComplete((refunded, error) -> settled(bookingId));
+    }
+
+    public void settled(int bookingId){
+        charges.remove(bookingId);
+    }
+
+    public Payment processPayment(Booking booking, String paymentMethod){
+        return processPaymentAsync(booking, paymentMethod).join();
+    }
+}
@@ -0,0 +1,8 @@
+package bookMyShow;
+
+enum PaymentStatus {
+    PENDING,
+    COMPLETED,
+    FAILED,
+    REFUNDED
+}
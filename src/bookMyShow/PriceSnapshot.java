@@ -0,0 +1,47 @@
+package bookMyShow;
+
+import java.util.Arrays;
+
+// Immutable per-tier prices for one show. The pricing engine swaps in a new one on every change,
+// so readers just follow a volatile reference and never see half-updated prices.
+final class PriceSnapshot {
+    private final int showId;
+    private final double[] prices;     // by SeatType ordinal
+    private final double[] occupancy;  // by SeatType ordinal, 0..1
+    private final long computedAtMillis;
+    private final long version;
+
+    PriceSnapshot(int showId, double[] prices, double[] occupancy, long computedAtMillis, long version) {
+        this.showId = showId;
+        this.prices = prices;
+        this.occupancy = occupancy;
+        this.computedAtMillis = computedAtMillis;
+        this.version = version;
+    }
+
+    public int getShowId() {
+        return showId;
+    }
+
+    public double getPrice(SeatType seatType) {
+        return prices[seatType.ordinal()];
+    }
+
+    public double getOccupancy(SeatType seatType) {
+        return occupancy[seatType.ordinal()];
+    }
+
+    public long getComputedAtMillis() {
+        return computedAtMillis;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        return "PriceSnapshot{show=" + showId + ", v" + version + ", prices=" + Arrays.toString(prices)
+                + ", occupancy=" + Arrays.toString(occupancy) + "}";
+    }
+}
@@ -0,0 +1,151 @@
+package bookMyShow;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Prices each show's seat tiers from how full the tier is and how close the show is.
+// Every block/release reported by the show's SeatMap adjusts a per-tier taken counter and republishes the
+// show's PriceSnapshot from the counters, so no seats are rescanned. Time-to-showtime drifts without any
+// booking happening, so a background refresh republishes every registered show once a minute.
+class PricingEngine implements AutoCloseable {
+    private static final double SURGE_FROM_OCCUPANCY = 0.5;
+    private static final double MAX_SURGE = 0.6;
+    private static final long EARLY_BIRD_MILLIS = TimeUnit.DAYS.toMillis(7);
+    private static final double EARLY_BIRD_FACTOR = 0.9;
+    private static final long LAST_MINUTE_MILLIS = TimeUnit.HOURS.toMillis(3);
+    private static final double LAST_MINUTE_FACTOR = 0.8;
+    private static final double LAST_MINUTE_BELOW_OCCUPANCY = 0.4;
+
+    private final class ShowPricing implements SeatMap.Listener {
+        private final int showId;
+        private final long showtimeMillis;
+        private final SeatType[] tierOfSeat;
+        private final SeatMap seatMap;
+        private final AtomicIntegerArray counted; // 1 for a seat the taken counter currently includes
+        private final int[] capacity = new int[SeatType.values().length];
+        private final AtomicIntegerArray taken = new AtomicIntegerArray(SeatType.values().length);
+        private final AtomicReference<PriceSnapshot> snapshot = new AtomicReference<>();
+
+        ShowPricing(Show show, Instant showtime) {
+            this.showId = show.getShowId();
+            this.showtimeMillis = showtime.toEpochMilli();
+            List<ShowSeat> seats = show.getShowseats();
+            this.seatMap = show.getSeatMap();
+            this.tierOfSeat = new SeatType[seatMap.size()];
+            this.counted = new AtomicIntegerArray(tierOfSeat.length);
+            for (ShowSeat seat : seats) {
+                tierOfSeat[seat.getIndex()] = seat.getSeat().getSeatType();
+            }
+        }
+
+        // The initial count runs after the listener is registered, so a seat can be reported by an event and
+        // by the count at once; both go through sync(), which counts each seat at most once.
+        void start(Show show) {
+            for (ShowSeat seat : show.getShowseats()) {
+                capacity[tierOfSeat[seat.getIndex()].ordinal()]++;
+            }
+            seatMap.addListener(this);
+            for (ShowSeat seat : show.getShowseats()) {
+                sync(seat.getIndex());
+            }
+            publish();
+        }
+
+        @Override
+        public void onAvailabilityChanged(int[] seats, boolean available) {
+            for (int seat : seats) {
+                if (seat < tierOfSeat.length && tierOfSeat[seat] != null)
+                    sync(seat);
+            }
+            publish();
+        }
+
+        // Moves the seat's counted flag to the seat's live state and the tier counter with it. Concurrent
+        // callers can apply stale reads out of order, so it re-reads until the flag matches what it last wrote.
+        private void sync(int seat) {
+            int tier = tierOfSeat[seat].ordinal();
+            while (true) {
+                int isTaken = seatMap.isAvailable(seat) ? 0 : 1;
+                if (counted.getAndSet(seat, isTaken) != isTaken)
+                    taken.addAndGet(tier, isTaken == 1 ? 1 : -1);
+                if ((seatMap.isAvailable(seat) ? 0 : 1) == isTaken)
+                    return;
+            }
+        }
+
+        // updateAndGet re-reads the counters on a lost race, so the last snapshot published is never
+        // older than the last counter change
+        void publish() {
+            snapshot.updateAndGet(previous -> {
+                long now = System.currentTimeMillis();
+                SeatType[] tiers = SeatType.values();
+                double[] prices = new double[tiers.length];
+                double[] occupancy = new double[tiers.length];
+                for (SeatType tier : tiers) {
+                    int i = tier.ordinal();
+                    // between one seat's flag flip and its counter update the counter can be off by one
+                    occupancy[i] = capacity[i] == 0 ? 0 : Math.min(1.0, Math.max(0, taken.get(i)) / (double) capacity[i]);
+                    prices[i] = price(tier, occupancy[i], showtimeMillis - now);
+                }
+                return new PriceSnapshot(showId, prices, occupancy, now, previous == null ? 1 : previous.getVersion() + 1);
+            });
+        }
+    }
+
+    private final Map<Integer, ShowPricing> shows = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService refresher;
+
+    PricingEngine() {
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pricing-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleAtFixedRate(() -> shows.values().forEach(ShowPricing::publish), 1, 1, TimeUnit.MINUTES);
+    }
+
+    // Call once the show's seats are set up and before it goes on sale; seats are counted once here and
+    // tracked from events afterwards.
+    public void register(Show show, Instant showtime) {
+        ShowPricing pricing = new ShowPricing(show, showtime);
+        if (shows.putIfAbsent(show.getShowId(), pricing) == null)
+            pricing.start(show);
+    }
+
+    // null when the show was never registered
+    public PriceSnapshot getSnapshot(Show show) {
+        ShowPricing pricing = shows.get(show.getShowId());
+        return pricing != null ? pricing.snapshot.get() : null;
+    }
+
+    public double getPrice(ShowSeat seat) {
+        PriceSnapshot snapshot = getSnapshot(seat.getShow());
+        return snapshot != null ? snapshot.getPrice(seat.getSeat().getSeatType()) : seat.getPrice();
+    }
+
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+    }
+
+    // Base price, plus up to MAX_SURGE once the tier is past SURGE_FROM_OCCUPANCY full, times an early-bird
+    // discount a week or more out and a last-minute discount for tiers that are still mostly empty.
+    private static double price(SeatType tier, double occupancy, long millisToShow) {
+        double surge = occupancy <= SURGE_FROM_OCCUPANCY
+                ? 0
+                : MAX_SURGE * (occupancy - SURGE_FROM_OCCUPANCY) / (1 - SURGE_FROM_OCCUPANCY);
+        double timing = 1.0;
+        if (millisToShow >= EARLY_BIRD_MILLIS)
+            timing = EARLY_BIRD_FACTOR;
+        else if (millisToShow <= LAST_MINUTE_MILLIS && occupancy < LAST_MINUTE_BELOW_OCCUPANCY)
+            timing = LAST_MINUTE_FACTOR;
+        return Math.round(tier.getBasePrice() * (1 + surge) * timing);
+    }
+}
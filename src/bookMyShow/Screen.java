@@ -0,0 +1,27 @@
+package bookMyShow;
+
+import java.util.List;
+
+class Screen{
+    private int screenId;
+    private Theatre theatre;
+    private List<Seat> Seats;
+
+    public Screen(int screenId, Theatre theatre, List<Seat> seats) {
+        this.screenId = screenId;
+        this.theatre = theatre;
+        Seats = seats;
+    }
+
+    public int getScreenId() {
+        return screenId;
+    }
+
+    public Theatre getTheatre() {
+        return theatre;
+    }
+
+    public List<Seat> getSeats() {
+        return List.copyOf(Seats);
+    }
+}
@@ -0,0 +1,24 @@
+package bookMyShow;
+
+class Seat {
+    private final int seatId;
+    private final  int row;
+    private final SeatType seatType;
+    public Seat(int seatId, int row, SeatType seatType) {
+        this.seatId = seatId;
+        this.row = row;
+        this.seatType = seatType;
+    }
+
+    public int getSeatId() {
+        return seatId;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public SeatType getSeatType() {
+        return seatType;
+    }
+}
@@ -0,0 +1,53 @@
+package bookMyShow;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Seats a user has blocked while paying. Exactly one of confirm, release or expiry wins the hold.
+class SeatHold {
+    enum State {
+        ACTIVE,
+        CONFIRMED,
+        RELEASED,
+        EXPIRED
+    }
+
+    private final long holdId;
+    private final Show show;
+    private final List<ShowSeat> seats;
+    private final long expiresAtMillis;
+    final long expiryTick;
+    private final AtomicReference<State> state = new AtomicReference<>(State.ACTIVE);
+
+    SeatHold(long holdId, Show show, List<ShowSeat> seats, long expiresAtMillis, long expiryTick) {
+        this.holdId = holdId;
+        this.show = show;
+        this.seats = List.copyOf(seats);
+        this.expiresAtMillis = expiresAtMillis;
+        this.expiryTick = expiryTick;
+    }
+
+    public long getHoldId() {
+        return holdId;
+    }
+
+    public Show getShow() {
+        return show;
+    }
+
+    public List<ShowSeat> getSeats() {
+        return seats;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    boolean finish(State outcome) {
+        return state.compareAndSet(State.ACTIVE, outcome);
+    }
+}
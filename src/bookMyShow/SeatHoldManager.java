@@ -0,0 +1,155 @@
+package bookMyShow;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Expires abandoned seat holds with a hashed timer wheel.
+// Callers only append new holds to an inbox; the single ticker thread owns the wheel, moves the inbox into
+// the bucket for each hold's expiry tick (O(1)) and on every tick releases that bucket's due holds,
+// one release per show, so a rush of expiries turns into a few multi-seat CAS passes.
+class SeatHoldManager implements AutoCloseable {
+    private final long holdMillis;
+    private final long tickNanos;
+    private final List<ArrayDeque<SeatHold>> wheel;
+    private final Queue<SeatHold> inbox = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService ticker;
+    private final long startNanos;
+    private final AtomicLong holdIds = new AtomicLong();
+    private final AtomicInteger activeHolds = new AtomicInteger();
+    private final AtomicLong expiredHolds = new AtomicLong();
+    private volatile long processedTick;
+    private volatile long lastTickNanos;
+
+    SeatHoldManager(Duration holdDuration, Duration tickDuration, int wheelSize) {
+        this.holdMillis = holdDuration.toMillis();
+        this.tickNanos = tickDuration.toNanos();
+        this.wheel = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            wheel.add(new ArrayDeque<>());
+        }
+        this.startNanos = System.nanoTime();
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seat-hold-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::advance, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    SeatHoldManager(Duration holdDuration) {
+        this(holdDuration, Duration.ofMillis(100), 512);
+    }
+
+    // Blocks every seat or none; on success the seats stay BLOCKED until confirm, release or expiry.
+    Optional<SeatHold> hold(Show show, List<ShowSeat> seats) {
+        long holdId = holdIds.incrementAndGet();
+        if (!show.blockSeats(holdId, seats))
+            return Optional.empty();
+        long expiresAt = System.currentTimeMillis() + holdMillis;
+        long expiryTick = (System.nanoTime() - startNanos + TimeUnit.MILLISECONDS.toNanos(holdMillis) + tickNanos - 1) / tickNanos;
+        for (ShowSeat seat : seats) {
+            seat.setBlockedUntil(expiresAt);
+        }
+        SeatHold hold = new SeatHold(holdId, show, seats, expiresAt, expiryTick);
+        activeHolds.incrementAndGet();
+        inbox.add(hold);
+        return Optional.of(hold);
+    }
+
+    boolean confirm(SeatHold hold) {
+        if (!hold.finish(SeatHold.State.CONFIRMED))
+            return false;
+        activeHolds.decrementAndGet();
+        return hold.getShow().bookSeats(hold.getHoldId(), hold.getSeats());
+    }
+
+    boolean release(SeatHold hold) {
+        if (!hold.finish(SeatHold.State.RELEASED))
+            return false;
+        activeHolds.decrementAndGet();
+        return hold.getShow().releaseSeats(hold.getHoldId(), hold.getSeats());
+    }
+
+    int getActiveHolds() {
+        return activeHolds.get();
+    }
+
+    long getExpiredHolds() {
+        return expiredHolds.get();
+    }
+
+    // how many ticks the wheel is behind the clock; anything above 1 means expiries are running late
+    long getExpiryBacklogTicks() {
+        long dueTick = (System.nanoTime() - startNanos) / tickNanos;
+        return Math.max(0, dueTick - processedTick);
+    }
+
+    long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+
+    // Runs on the ticker thread only. Catches up on every tick that is due, so a delayed run
+    // expires everything it missed rather than drifting further behind.
+    private void advance() {
+        long begin = System.nanoTime();
+        long dueTick = (begin - startNanos) / tickNanos;
+        SeatHold incoming;
+        while ((incoming = inbox.poll()) != null) {
+            long tick = Math.max(incoming.expiryTick, processedTick + 1);
+            wheel.get((int) (tick % wheel.size())).add(incoming);
+        }
+        Map<Show, List<SeatHold>> dueByShow = new HashMap<>();
+        long lastTick = Math.min(dueTick, processedTick + wheel.size());
+        for (long tick = processedTick + 1; tick <= lastTick; tick++) {
+            Iterator<SeatHold> bucket = wheel.get((int) (tick % wheel.size())).iterator();
+            while (bucket.hasNext()) {
+                SeatHold hold = bucket.next();
+                if (hold.getState() != SeatHold.State.ACTIVE) {
+                    bucket.remove();
+                } else if (hold.expiryTick <= dueTick) {
+                    bucket.remove();
+                    if (hold.finish(SeatHold.State.EXPIRED))
+                        dueByShow.computeIfAbsent(hold.getShow(), k -> new ArrayList<>()).add(hold);
+                }
+            }
+        }
+        processedTick = Math.max(processedTick, dueTick);
+        for (Map.Entry<Show, List<SeatHold>> entry : dueByShow.entrySet()) {
+            releaseExpired(entry.getKey(), entry.getValue());
+        }
+        lastTickNanos = System.nanoTime() - begin;
+    }
+
+    // each seat is released on behalf of its own hold, so one pass never frees a seat some other hold has
+    private void releaseExpired(Show show, List<SeatHold> holds) {
+        List<ShowSeat> seats = new ArrayList<>();
+        long[] holderOf = new long[holds.stream().mapToInt(hold -> hold.getSeats().size()).sum()];
+        for (SeatHold hold : holds) {
+            for (ShowSeat seat : hold.getSeats()) {
+                holderOf[seats.size()] = hold.getHoldId();
+                seats.add(seat);
+            }
+        }
+        show.releaseHeldSeats(holderOf, seats);
+        activeHolds.addAndGet(-holds.size());
+        expiredHolds.addAndGet(holds.size());
+    }
+}
@@ -0,0 +1,286 @@
+package bookMyShow;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Seat state for one show packed two bits per seat (32 seats per word): 00 available, 01 blocked, 10 booked.
+// Every transition is a CAS on the word holding the seat. Blocking a group of seats CASes each word it
+// touches in ascending order and undoes the words already taken if a later one has a seat that is gone,
+// so a multi-seat block either gets every seat or leaves them all as they were.
+// A blocked seat also records its holder (the SeatHold id, or UNHELD when blocked without a hold). Blocking
+// writes the holder before it moves the seats, and booking or releasing first takes the seat away from that
+// holder, so a late or repeated release from one hold can never free seats that another user has blocked since.
+// Seats are added while the show is being set up, before it goes on sale.
+class SeatMap {
+    // told which seats just became available (release) or unavailable (block); book() (blocked -> booked) is not reported
+    interface Listener {
+        void onAvailabilityChanged(int[] seats, boolean available);
+    }
+
+    private static final long AVAILABLE = 0b00;
+    private static final long BLOCKED = 0b01;
+    private static final long BOOKED = 0b10;
+    private static final long STATE_MASK = 0b11;
+    private static final long LOW_BITS = 0x5555_5555_5555_5555L;
+    // holder slot of a seat blocked without a hold; an empty slot (0) means the seat is not blocked by anyone
+    private static final long UNHELD = -1;
+
+    private volatile AtomicLongArray words = new AtomicLongArray(1);
+    private volatile AtomicLongArray holders = new AtomicLongArray(32);
+    private final AtomicInteger availableCount = new AtomicInteger();
+    private int size;
+    private volatile Listener[] listeners = new Listener[0];
+
+    synchronized int addSeat() {
+        int index = size++;
+        if ((index >> 5) >= words.length()) {
+            AtomicLongArray grown = new AtomicLongArray(words.length() * 2);
+            for (int i = 0; i < words.length(); i++) {
+                grown.set(i, words.get(i));
+            }
+            words = grown;
+        }
+        if (index >= holders.length()) {
+            AtomicLongArray grown = new AtomicLongArray(holders.length() * 2);
+            for (int i = 0; i < holders.length(); i++) {
+                grown.set(i, holders.get(i));
+            }
+            holders = grown;
+        }
+        availableCount.incrementAndGet();
+        return index;
+    }
+
+    int size() {
+        return size;
+    }
+
+    synchronized void addListener(Listener listener) {
+        Listener[] grown = Arrays.copyOf(listeners, listeners.length + 1);
+        grown[listeners.length] = listener;
+        listeners = grown;
+    }
+
+    int availableCount() {
+        return availableCount.get();
+    }
+
+    ShowSeatStatus statusOf(int seat) {
+        long state = (words.get(seat >> 5) >>> shift(seat)) & STATE_MASK;
+        if (state == AVAILABLE)
+            return ShowSeatStatus.AVAILABLE;
+        return state == BLOCKED ? ShowSeatStatus.BLOCKED : ShowSeatStatus.BOOKED;
+    }
+
+    boolean isAvailable(int seat) {
+        return ((words.get(seat >> 5) >>> shift(seat)) & STATE_MASK) == AVAILABLE;
+    }
+
+    // lowest available seat at or after from, or -1; reads the live words, nothing is copied
+    int nextAvailable(int from) {
+        AtomicLongArray current = words;
+        for (int seat = from; seat < size; ) {
+            long word = current.get(seat >> 5);
+            // a seat is available when both of its bits are clear
+            long free = ~(word | (word >>> 1)) & LOW_BITS & (-1L << shift(seat));
+            if (free != 0) {
+                int found = ((seat >> 5) << 5) + (Long.numberOfTrailingZeros(free) >> 1);
+                return found < size ? found : -1;
+            }
+            seat = ((seat >> 5) + 1) << 5;
+        }
+        return -1;
+    }
+
+    boolean block(int... seats) {
+        return blockFor(0, seats);
+    }
+
+    boolean book(int... seats) {
+        return bookFor(0, seats);
+    }
+
+    boolean release(int... seats) {
+        return releaseFor(0, seats);
+    }
+
+    boolean blockFor(long holder, int[] seats) {
+        seats = Arrays.stream(seats).distinct().toArray();
+        // the holder goes in first, so there is no moment where the seats are blocked but name nobody
+        if (!reserve(holder, seats))
+            return false;
+        if (!transition(seats, AVAILABLE, BLOCKED, -1)) {
+            unreserve(holder, seats);
+            return false;
+        }
+        availableCount.addAndGet(-seats.length);
+        notifyListeners(seats, false);
+        return true;
+    }
+
+    // every seat must be blocked by holder
+    boolean bookFor(long holder, int[] seats) {
+        seats = Arrays.stream(seats).distinct().toArray();
+        if (!claim(holder, seats))
+            return false;
+        if (!transition(seats, BLOCKED, BOOKED, 0)) {
+            unclaim(holder, seats);
+            return false;
+        }
+        return true;
+    }
+
+    boolean releaseFor(long holder, int[] seats) {
+        seats = Arrays.stream(seats).distinct().toArray();
+        if (!claim(holder, seats))
+            return false;
+        if (!transition(seats, BLOCKED, AVAILABLE, 1)) {
+            unclaim(holder, seats);
+            return false;
+        }
+        availableCount.addAndGet(distinct(seats));
+        notifyListeners(seats, true);
+        return true;
+    }
+
+    // Releases seats[i] on behalf of holderOf[i] in one pass; seats no longer held by that holder are skipped.
+    // Returns how many seats were released.
+    int releaseHeld(long[] holderOf, int[] seats) {
+        AtomicLongArray current = holders;
+        int[] claimed = new int[seats.length];
+        int count = 0;
+        for (int i = 0; i < seats.length; i++) {
+            if (current.compareAndSet(seats[i], holderOf[i], 0))
+                claimed[count++] = seats[i];
+        }
+        if (count == 0)
+            return 0;
+        claimed = Arrays.copyOf(claimed, count);
+        // nothing else can move a seat it does not hold, so this cannot fail
+        if (!transition(claimed, BLOCKED, AVAILABLE, 1))
+            throw new IllegalStateException("Held seats changed state without their holder");
+        availableCount.addAndGet(distinct(claimed));
+        notifyListeners(claimed, true);
+        return count;
+    }
+
+    // Writes holder into every seat's empty slot, or into none of them. A slot that is taken belongs to a seat
+    // that is blocked, or that another caller is blocking, so the seat is not available to this one either.
+    private boolean reserve(long holder, int[] seats) {
+        AtomicLongArray current = holders;
+        for (int i = 0; i < seats.length; i++) {
+            if (!current.compareAndSet(seats[i], 0, slotOf(holder))) {
+                unreserve(holder, Arrays.copyOf(seats, i));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // the block did not happen, so the slots are still ours unless a booking or release has reset them
+    private void unreserve(long holder, int[] seats) {
+        AtomicLongArray current = holders;
+        for (int seat : seats) {
+            current.compareAndSet(seat, slotOf(holder), 0);
+        }
+    }
+
+    // Takes every seat from holder, or none of them. Holder 0 only matches seats blocked without a hold.
+    private boolean claim(long holder, int[] seats) {
+        AtomicLongArray current = holders;
+        for (int i = 0; i < seats.length; i++) {
+            if (!current.compareAndSet(seats[i], slotOf(holder), 0)) {
+                unclaim(holder, Arrays.copyOf(seats, i));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // the seats are still blocked, so a block that took one of the emptied slots in between fails anyway
+    private void unclaim(long holder, int[] seats) {
+        AtomicLongArray current = holders;
+        for (int seat : seats) {
+            current.set(seat, slotOf(holder));
+        }
+    }
+
+    private static long slotOf(long holder) {
+        return holder != 0 ? holder : UNHELD;
+    }
+
+    // All-or-nothing move of every seat from one state to another. availableDelta is what the move does to
+    // availableCount per seat; it is applied here only for seats an undo could not put back.
+    private boolean transition(int[] seats, long from, long to, int availableDelta) {
+        int[] sorted = seats.clone();
+        Arrays.sort(sorted);
+        AtomicLongArray current = words;
+        int start = 0;
+        while (start < sorted.length) {
+            int wordIndex = sorted[start] >> 5;
+            int end = start;
+            long mask = 0;
+            long expected = 0;
+            long replacement = 0;
+            while (end < sorted.length && (sorted[end] >> 5) == wordIndex) {
+                int shift = shift(sorted[end]);
+                mask |= STATE_MASK << shift;
+                expected |= from << shift;
+                replacement |= to << shift;
+                end++;
+            }
+            if (!casWord(current, wordIndex, mask, expected, replacement)) {
+                int[] stuck = undo(current, sorted, start, from, to);
+                if (stuck.length > 0) {
+                    // the seats really did move, and whoever moved them again counted only their own change
+                    availableCount.addAndGet(availableDelta * stuck.length);
+                    throw new IllegalStateException("Seats " + Arrays.toString(stuck)
+                            + " were changed by another caller while a group transition was being undone");
+                }
+                return false;
+            }
+            start = end;
+        }
+        return true;
+    }
+
+    private static boolean casWord(AtomicLongArray current, int wordIndex, long mask, long expected, long replacement) {
+        while (true) {
+            long word = current.get(wordIndex);
+            if ((word & mask) != expected)
+                return false;
+            if (current.compareAndSet(wordIndex, word, (word & ~mask) | replacement))
+                return true;
+        }
+    }
+
+    // Puts back the seats in sorted[0, end) that were already moved to the new state, one seat at a time so
+    // a seat someone else has touched since does not stop the rest. Returns the seats that could not be put back.
+    private static int[] undo(AtomicLongArray current, int[] sorted, int end, long from, long to) {
+        int[] stuck = new int[end];
+        int count = 0;
+        for (int i = 0; i < end; i++) {
+            if (i > 0 && sorted[i] == sorted[i - 1])
+                continue;
+            int shift = shift(sorted[i]);
+            if (!casWord(current, sorted[i] >> 5, STATE_MASK << shift, to << shift, from << shift))
+                stuck[count++] = sorted[i];
+        }
+        return Arrays.copyOf(stuck, count);
+    }
+
+    private void notifyListeners(int[] seats, boolean available) {
+        for (Listener listener : listeners) {
+            listener.onAvailabilityChanged(seats, available);
+        }
+    }
+
+    private static int distinct(int[] seats) {
+        return (int) Arrays.stream(seats).distinct().count();
+    }
+
+    private static int shift(int seat) {
+        return (seat & 31) << 1;
+    }
+}
@@ -0,0 +1,14 @@
+package bookMyShow;
+
+enum SeatType {
+    SILVER(150.0),
+    GOLD(200.0),
+    PLATINUM(295.0);
+    private final double basePrice;
+    SeatType(double basePrice){
+        this.basePrice = basePrice;
+    }
+    public double getBasePrice(){
+        return this.basePrice;
+    }
+}
@@ -0,0 +1,140 @@
+package bookMyShow;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+class Show {
+    private int showId;
+    private Movie movie;
+    private int startTime;
+    private LocalDate showDate;
+    private Screen screen;
+    private List<ShowSeat> showseats;
+    private final SeatMap seatMap = new SeatMap();
+
+    public Show(int showId, Movie movie, int startTime, List<ShowSeat> showseats) {
+        this(showId, movie, null, startTime, showseats);
+    }
+
+    public Show(int showId, Movie movie, LocalDate showDate, int startTime, List<ShowSeat> showseats) {
+        this.showId = showId;
+        this.movie = movie;
+        this.showDate = showDate;
+        this.startTime = startTime;
+        this.showseats = showseats;
+        for (ShowSeat showSeat : showseats) {
+            showSeat.attach(seatMap, seatMap.addSeat());
+        }
+    }
+
+    public void addShowSeat( ShowSeat showSeat){
+        showSeat.attach(seatMap, seatMap.addSeat());
+        showseats.add(showSeat);
+    }
+
+    // All-or-nothing: either every seat moves from AVAILABLE to BLOCKED or none of them does.
+    public boolean blockSeats(List<ShowSeat> seats) {
+        return blockSeats(0, seats);
+    }
+
+    public boolean bookSeats(List<ShowSeat> seats) {
+        return bookSeats(0, seats);
+    }
+
+    public boolean releaseSeats(List<ShowSeat> seats) {
+        return releaseSeats(0, seats);
+    }
+
+    // holder is the SeatHold id; only that holder can book or release the seats afterwards
+    boolean blockSeats(long holder, List<ShowSeat> seats) {
+        if (!seatMap.blockFor(holder, indexesOf(seats)))
+            return false;
+        long now = System.currentTimeMillis();
+        for (ShowSeat seat : seats) {
+            seat.setBlockedUntil(now);
+        }
+        return true;
+    }
+
+    boolean bookSeats(long holder, List<ShowSeat> seats) {
+        if (!seatMap.bookFor(holder, indexesOf(seats)))
+            return false;
+        for (ShowSeat seat : seats) {
+            seat.setBlockedUntil(0);
+        }
+        return true;
+    }
+
+    boolean releaseSeats(long holder, List<ShowSeat> seats) {
+        if (!seatMap.releaseFor(holder, indexesOf(seats)))
+            return false;
+        for (ShowSeat seat : seats) {
+            seat.setBlockedUntil(0);
+        }
+        return true;
+    }
+
+    // releases seats.get(i) for holderOf[i]; seats a holder no longer has are left alone
+    int releaseHeldSeats(long[] holderOf, List<ShowSeat> seats) {
+        int released = seatMap.releaseHeld(holderOf, indexesOf(seats));
+        for (ShowSeat seat : seats) {
+            if (seat.getSeatStatus() == ShowSeatStatus.AVAILABLE)
+                seat.setBlockedUntil(0);
+        }
+        return released;
+    }
+
+    // live availability for seat-map rendering; reads the packed state directly, nothing is copied
+    SeatMap getSeatMap() {
+        return seatMap;
+    }
+
+    // the seats in the given SeatMap slots, in that order; null if a slot is not one of this show's seats
+    List<ShowSeat> seatsAt(int[] indexes) {
+        ShowSeat[] bySlot = new ShowSeat[seatMap.size()];
+        for (ShowSeat seat : showseats) {
+            if (seat.getIndex() >= 0 && seat.getIndex() < bySlot.length)
+                bySlot[seat.getIndex()] = seat;
+        }
+        List<ShowSeat> seats = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            if (index < 0 || index >= bySlot.length || bySlot[index] == null)
+                return null;
+            seats.add(bySlot[index]);
+        }
+        return seats;
+    }
+
+    private int[] indexesOf(List<ShowSeat> seats) {
+        int[] indexes = new int[seats.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            ShowSeat seat = seats.get(i);
+            if (seat.getIndex() < 0 || seat.getIndex() >= showseats.size() || showseats.get(seat.getIndex()) != seat)
+                throw new IllegalArgumentException("Seat " + seat.getSeat().getSeatId() + " does not belong to show " + showId);
+            indexes[i] = seat.getIndex();
+        }
+        return indexes;
+    }
+
+    public int getShowId() {
+        return showId;
+    }
+
+    public Movie getMovie() {
+        return movie;
+    }
+
+    public int getStartTime() {
+        return startTime;
+    }
+
+    public LocalDate getShowDate() {
+        return showDate;
+    }
+
+    public List<ShowSeat> getShowseats() {
+        return Collections.unmodifiableList(showseats);
+    }
+}
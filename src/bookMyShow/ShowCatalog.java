@@ -0,0 +1,48 @@
+package bookMyShow;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Listing-page indexes, maintained as shows are added so lookups never scan theatres:
+// (city, movie) -> theatre -> shows, and city -> date -> shows (shows without a date are not date-indexed).
+// Writes are rare compared with listing reads, so values are copy-on-write and reads take no lock.
+// Lookups hand out immutable snapshots; the copy-on-write lists themselves never leave the catalog.
+class ShowCatalog {
+    private record CityMovie(int cityId, int movieId) {
+    }
+
+    private final Map<CityMovie, Map<Theatre, List<Show>>> byCityAndMovie = new ConcurrentHashMap<>();
+    private final Map<Integer, Map<LocalDate, List<Show>>> byCityAndDate = new ConcurrentHashMap<>();
+
+    public void addShow(City city, Theatre theatre, Show show) {
+        int cityId = city.getId();
+        byCityAndMovie.computeIfAbsent(new CityMovie(cityId, show.getMovie().getMovieId()), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(theatre, k -> new CopyOnWriteArrayList<>())
+                .add(show);
+        if (show.getShowDate() != null) {
+            byCityAndDate.computeIfAbsent(cityId, k -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(show.getShowDate(), k -> new CopyOnWriteArrayList<>())
+                    .add(show);
+        }
+    }
+
+    public Map<Theatre, List<Show>> getShows(City city, Movie movie) {
+        Map<Theatre, List<Show>> shows = byCityAndMovie.get(new CityMovie(city.getId(), movie.getMovieId()));
+        if (shows == null)
+            return Map.of();
+        Map<Theatre, List<Show>> snapshot = new HashMap<>();
+        shows.forEach((theatre, theatreShows) -> snapshot.put(theatre, List.copyOf(theatreShows)));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    public List<Show> getShows(City city, LocalDate date) {
+        Map<LocalDate, List<Show>> byDate = byCityAndDate.get(city.getId());
+        List<Show> shows = byDate != null ? byDate.get(date) : null;
+        return shows != null ? List.copyOf(shows) : List.of();
+    }
+}
@@ -0,0 +1,80 @@
+package bookMyShow;
+
+class ShowSeat {
+    private Seat seat;
+    private double price;
+    private Show show;
+    private volatile long blockedUntil;
+    // status lives in the show's SeatMap; index is this seat's slot there
+    private SeatMap seatMap;
+    private int index = -1;
+
+    public ShowSeat(Seat seat, double price, Show show, ShowSeatStatus seatStatus, long blockedUntil) {
+        this.seat = seat;
+        this.price = price;
+        this.show = show;
+    }
+
+    void attach(SeatMap seatMap, int index) {
+        this.seatMap = seatMap;
+        this.index = index;
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    public Seat getSeat() {
+        return seat;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public Show getShow() {
+        return show;
+    }
+
+    public ShowSeatStatus getSeatStatus() {
+        return seatMap().statusOf(index);
+    }
+
+    public long getBlockedUntil() {
+        return blockedUntil;
+    }
+
+    void setBlockedUntil(long blockedUntil) {
+        this.blockedUntil = blockedUntil;
+    }
+
+    public boolean bookSeat(){
+        if(seatMap().book(index)){
+            this.blockedUntil = 0;
+            return true;
+        }
+        return false;
+    }
+
+    public boolean blockSeat(){
+        if(seatMap().block(index)){
+            this.blockedUntil = System.currentTimeMillis();
+            return true;
+        }
+        return false;
+    }
+
+    public boolean releaseSeat() {
+        if (seatMap().release(index)) {
+            this.blockedUntil = 0;
+            return true;
+        }
+        return false;
+    }
+
+    private SeatMap seatMap() {
+        if (seatMap == null)
+            throw new IllegalStateException("Seat " + seat.getSeatId() + " has not been added to a show");
+        return seatMap;
+    }
+}
@@ -0,0 +1,7 @@
+package bookMyShow;
+
+enum ShowSeatStatus {
+    AVAILABLE,
+    BOOKED,
+    BLOCKED
+}
@@ -0,0 +1,41 @@
+package bookMyShow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class Theatre {
+    private int threatreId;
+    private City city;
+    private volatile List<Show> shows;
+    private List<Screen> screens;
+
+    public Theatre(int threatreId, City city, List<Show> shows, List<Screen> screens) {
+        this.threatreId = threatreId;
+        this.city = city;
+        this.shows = shows;
+        this.screens = screens;
+    }
+
+    public int getThreatreId() {
+        return threatreId;
+    }
+
+    public City getCity() {
+        return city;
+    }
+
+    public List<Show> getShows() {
+        return shows;
+    }
+
+    // the list handed to the constructor may be immutable or shared, so a new show goes into a copy
+    synchronized void addShow(Show show) {
+        List<Show> next = shows == null ? new ArrayList<>() : new ArrayList<>(shows);
+        next.add(show);
+        shows = next;
+    }
+
+    public List<Screen> getScreens() {
+        return screens;
+    }
+}
@@ -0,0 +1,54 @@
+package bookMyShow;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class TheatreController {
+    Map<City, List<Theatre>> cityvsTheatre = new HashMap<>();
+    List<Theatre> allTheatre = new ArrayList<>();
+    private final Map<Theatre, List<City>> citiesOfTheatre = new HashMap<>();
+    private final ShowCatalog showCatalog = new ShowCatalog();
+
+    public Map<City, List<Theatre>> getCityvsTheatre() {
+        return cityvsTheatre;
+    }
+
+    public List<Theatre> gettTheatres() {
+        return List.copyOf(allTheatre);
+    }
+
+    public List<Theatre> getTheatresByCity(City city){
+        return cityvsTheatre.get(city);
+    }
+
+    public void addTheatreToCity(Theatre theatre, City city){
+        allTheatre.add(theatre);
+        cityvsTheatre.computeIfAbsent(city, k-> new ArrayList<>()).add(theatre);
+        citiesOfTheatre.computeIfAbsent(theatre, k -> new ArrayList<>()).add(city);
+        if (theatre.getShows() != null) {
+            for (Show show : theatre.getShows()) {
+                showCatalog.addShow(city, theatre, show);
+            }
+        }
+    }
+
+    // Shows added through here are indexed under every city the theatre was added to; editing
+    // theatre.getShows() directly bypasses the catalog.
+    public void addShow(Theatre theatre, Show show){
+        theatre.addShow(show);
+        for (City city : citiesOfTheatre.getOrDefault(theatre, List.of())) {
+            showCatalog.addShow(city, theatre, show);
+        }
+    }
+
+    public Map<Theatre, List<Show>> getAllShows(Movie movie, City city){ // Important
+        return showCatalog.getShows(city, movie);
+    }
+
+    public List<Show> getShowsByDate(City city, LocalDate date){
+        return showCatalog.getShows(city, date);
+    }
+}
@@ -0,0 +1,31 @@
+package bookMyShow;
+
+class User {
+    private int userID;
+    private String username;
+    private String useremail;
+    private String number;
+
+    public User(int userID, String useremail, String username, String number) {
+        this.userID = userID;
+        this.useremail = useremail;
+        this.username = username;
+        this.number = number;
+    }
+
+    public int getUserID() {
+        return userID;
+    }
+
+    public String getUseremail() {
+        return useremail;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getNumber() {
+        return number;
+    }
+}
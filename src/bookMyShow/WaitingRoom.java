@@ -0,0 +1,202 @@
+package bookMyShow;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Admission control in front of BookingService for hot shows.
+// Each show has a FIFO line that is just two counters: joining takes the next position, and a ticker moves
+// the admitted mark forward at admitsPerSecond. Users poll with their signed token until their position is
+// admitted; only then does book() reach the seat-locking path, so its concurrency is bounded by the rate.
+// Admission is good for one book() call within admissionWindow of being admitted; after that the user joins
+// again at the back. Expired and used places are dropped, and a line with nobody in it is removed.
+class WaitingRoom implements AutoCloseable {
+    private static final long TICK_MILLIS = 100;
+    private static final Duration DEFAULT_ADMISSION_WINDOW = Duration.ofMinutes(10);
+
+    private static final class Line {
+        private final AtomicLong lastIssued = new AtomicLong();
+        private volatile long admittedThrough;
+        private final Map<Integer, WaitingRoomToken> tokensByUser = new ConcurrentHashMap<>();
+        private final ConcurrentNavigableMap<Long, Integer> usersByPosition = new ConcurrentSkipListMap<>();
+        private final ArrayDeque<long[]> admissions = new ArrayDeque<>(); // {admittedThrough, atMillis}, ticker thread only
+        private double credit; // ticker thread only
+    }
+
+    private final BookingService bookingService;
+    private final double admitsPerSecond;
+    private final long admissionWindowMillis;
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+    private final Map<Integer, Line> lines = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ticker;
+
+    WaitingRoom(BookingService bookingService, double admitsPerSecond, byte[] secret) {
+        this(bookingService, admitsPerSecond, DEFAULT_ADMISSION_WINDOW, secret);
+    }
+
+    WaitingRoom(BookingService bookingService, double admitsPerSecond, Duration admissionWindow, byte[] secret) {
+        if (admitsPerSecond <= 0)
+            throw new IllegalArgumentException("admitsPerSecond must be positive");
+        if (admissionWindow.isNegative() || admissionWindow.isZero())
+            throw new IllegalArgumentException("admissionWindow must be positive");
+        this.bookingService = bookingService;
+        this.admitsPerSecond = admitsPerSecond;
+        this.admissionWindowMillis = admissionWindow.toMillis();
+        this.key = new SecretKeySpec(secret.clone(), "HmacSHA256");
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 is not available", e);
+            }
+        });
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "waiting-room-admitter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::admit, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    // Joining again (a refresh, a retry) returns the user's existing place instead of a new one at the back.
+    // Joining runs inside the lines map's compute so the ticker cannot remove the line in between.
+    public WaitingRoomToken join(Show show, User user) {
+        WaitingRoomToken[] joined = new WaitingRoomToken[1];
+        lines.compute(show.getShowId(), (showId, line) -> {
+            Line current = line != null ? line : new Line();
+            joined[0] = current.tokensByUser.computeIfAbsent(user.getUserID(), userId -> {
+                long position = current.lastIssued.incrementAndGet();
+                current.usersByPosition.put(position, userId);
+                return new WaitingRoomToken(showId, userId, position, sign(showId, userId, position));
+            });
+            return current;
+        });
+        return joined[0];
+    }
+
+    public boolean isAdmitted(WaitingRoomToken token) {
+        return positionsAhead(token) == 0;
+    }
+
+    // Throws for a token whose admission has expired or been used; its holder has to join again.
+    public long positionsAhead(WaitingRoomToken token) {
+        Line line = verifiedLine(token);
+        return Math.max(0, token.getPosition() - line.admittedThrough);
+    }
+
+    public Duration estimatedWait(WaitingRoomToken token) {
+        return Duration.ofMillis((long) Math.ceil(positionsAhead(token) * 1000 / admitsPerSecond));
+    }
+
+    public CompletableFuture<Booking> book(WaitingRoomToken token, User user, Theatre theatre, Show show,
+                                           List<ShowSeat> seats, String paymentMethod) {
+        if (token.getShowId() != show.getShowId() || token.getUserId() != user.getUserID())
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Token was issued for another show or user"));
+        Line line;
+        try {
+            line = verifiedLine(token);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        long ahead = token.getPosition() - line.admittedThrough;
+        if (ahead > 0)
+            return CompletableFuture.failedFuture(new IllegalStateException("Not admitted yet, " + ahead + " ahead"));
+        // the place is used up by this call, so two concurrent calls with one token cannot both get through
+        if (!consume(line, token))
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Waiting room token expired or already used"));
+        return bookingService.book(user, theatre, show, seats, paymentMethod);
+    }
+
+    // Drops a show's line, e.g. once the show has started; outstanding tokens for it stop working.
+    public void closeLine(Show show) {
+        lines.remove(show.getShowId());
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+
+    private Line verifiedLine(WaitingRoomToken token) {
+        byte[] expected = sign(token.getShowId(), token.getUserId(), token.getPosition());
+        if (!MessageDigest.isEqual(expected, token.getSignature()))
+            throw new IllegalArgumentException("Invalid waiting room token");
+        Line line = lines.get(token.getShowId());
+        WaitingRoomToken current = line != null ? line.tokensByUser.get(token.getUserId()) : null;
+        if (current == null || current.getPosition() != token.getPosition())
+            throw new IllegalArgumentException("Waiting room token expired or already used");
+        return line;
+    }
+
+    private static boolean consume(Line line, WaitingRoomToken token) {
+        boolean[] consumed = new boolean[1];
+        line.tokensByUser.computeIfPresent(token.getUserId(), (userId, current) -> {
+            if (current.getPosition() != token.getPosition())
+                return current;
+            consumed[0] = true;
+            return null;
+        });
+        if (consumed[0])
+            line.usersByPosition.remove(token.getPosition());
+        return consumed[0];
+    }
+
+    private byte[] sign(int showId, int userId, long position) {
+        return macs.get().doFinal(WaitingRoomToken.payload(showId, userId, position).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Fractional allowances carry over between ticks so low rates still admit at the configured pace.
+    private void admit() {
+        double perTick = admitsPerSecond * TICK_MILLIS / 1000.0;
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Integer, Line> entry : lines.entrySet()) {
+            Line line = entry.getValue();
+            expire(line, now);
+            long waiting = line.lastIssued.get() - line.admittedThrough;
+            if (waiting <= 0) {
+                line.credit = 0;
+                lines.computeIfPresent(entry.getKey(), (showId, current) ->
+                        current == line && current.tokensByUser.isEmpty() ? null : current);
+                continue;
+            }
+            line.credit += perTick;
+            long admitted = Math.min(waiting, (long) line.credit);
+            line.credit -= admitted;
+            line.admittedThrough += admitted;
+            if (admitted > 0)
+                line.admissions.addLast(new long[]{line.admittedThrough, now});
+        }
+    }
+
+    // Positions are admitted in order, so the admissions older than the window cover a prefix of the line.
+    private void expire(Line line, long now) {
+        long expiredThrough = 0;
+        while (!line.admissions.isEmpty() && line.admissions.peekFirst()[1] + admissionWindowMillis <= now)
+            expiredThrough = line.admissions.pollFirst()[0];
+        if (expiredThrough == 0)
+            return;
+        ConcurrentNavigableMap<Long, Integer> expired = line.usersByPosition.headMap(expiredThrough, true);
+        for (Map.Entry<Long, Integer> place : expired.entrySet()) {
+            long position = place.getKey();
+            line.tokensByUser.computeIfPresent(place.getValue(), (userId, current) -> current.getPosition() == position ? null : current);
+        }
+        expired.clear();
+    }
+}
@@ -0,0 +1,56 @@
+package bookMyShow;
+
+import java.util.Base64;
+
+// A user's place in a show's waiting room. Clients carry it around as the string form and send it
+// back on every status check and booking; the signature stops them from editing their position.
+final class WaitingRoomToken {
+    private final int showId;
+    private final int userId;
+    private final long position;
+    private final byte[] signature;
+
+    WaitingRoomToken(int showId, int userId, long position, byte[] signature) {
+        this.showId = showId;
+        this.userId = userId;
+        this.position = position;
+        this.signature = signature;
+    }
+
+    public static WaitingRoomToken parse(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length != 4)
+            throw new IllegalArgumentException("Malformed waiting room token");
+        try {
+            return new WaitingRoomToken(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Long.parseLong(parts[2]),
+                    Base64.getUrlDecoder().decode(parts[3]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed waiting room token", e);
+        }
+    }
+
+    public int getShowId() {
+        return showId;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    byte[] getSignature() {
+        return signature;
+    }
+
+    static String payload(int showId, int userId, long position) {
+        return showId + "." + userId + "." + position;
+    }
+
+    @Override
+    public String toString() {
+        return payload(showId, userId, position) + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    }
+}
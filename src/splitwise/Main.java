@@ -1,8 +1,216 @@
 package splitwise;
 
+import splitwise.entities.BalanceSheet;
+import splitwise.entities.Expense;
+import splitwise.entities.Group;
+import splitwise.entities.User;
+import splitwise.importer.ImportResult;
+import splitwise.strategy.EqualSplitStrategy;
+import splitwise.strategy.SplitPlan;
+import splitwise.strategy.SplitStrategy;
 
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Concurrency stress harness: hammers SplitWiseService from many threads across many groups,
+// reports throughput and latency percentiles per write path, then checks that every group's
+// balances still sum to zero.
+// usage: java splitwise.Main [threads] [opsPerThread] [groups] [membersPerGroup]
 public class Main {
+    private static final SplitStrategy EQUAL = new EqualSplitStrategy();
 
-}
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int opsPerThread = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int groupCount = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        int membersPerGroup = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+
+        SplitWiseService service = SplitWiseService.getInstance();
+        List<Group> groups = createGroups(service, groupCount, membersPerGroup);
+        List<SplitPlan> plans = new ArrayList<>();
+        for (Group group : groups) {
+            plans.add(SplitPlan.equal(group.getMembers()));
+        }
+
+        System.out.printf("threads=%d opsPerThread=%d groups=%d members=%d%n", threads, opsPerThread, groupCount, membersPerGroup);
+        PrintStream console = System.out;
+        // createExpense/settleUp log every call; keep that off the console while measuring
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            report(console, "createExpense(builder) + settleUp", run(threads, opsPerThread, (random) -> {
+                Group group = groups.get(random.nextInt(groups.size()));
+                if (random.nextInt(10) == 0)
+                    settleRandomly(service, group, random);
+                else
+                    service.createExpense(randomExpense(group, random));
+            }));
+            report(console, "createExpense(SplitPlan) + settleUp", run(threads, opsPerThread, (random) -> {
+                int index = random.nextInt(groups.size());
+                Group group = groups.get(index);
+                if (random.nextInt(10) == 0)
+                    settleRandomly(service, group, random);
+                else
+                    service.createExpense("Recurring", randomAmount(random), randomMember(group, random), group, plans.get(index));
+            }));
+            ImportResult result = service.importExpenses(randomExpenses(groups, threads * opsPerThread));
+            console.printf("%-38s %s%n", "importExpenses", result);
+        } finally {
+            System.setOut(console);
+        }
+
+        verifyGroupsBalanced(groups);
+    }
+
+    private interface Operation {
+        void apply(ThreadLocalRandom random);
+    }
+
+    private static class RunStats {
+        private final long[] latencies;
+        private final long elapsedNanos;
+
+        RunStats(long[] latencies, long elapsedNanos) {
+            this.latencies = latencies;
+            this.elapsedNanos = elapsedNanos;
+        }
+    }
+
+    private static RunStats run(int threads, int opsPerThread, Operation operation) throws InterruptedException {
+        long[][] latencies = new long[threads][opsPerThread];
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            long[] samples = latencies[t];
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < opsPerThread; i++) {
+                        long begin = System.nanoTime();
+                        operation.apply(random);
+                        samples[i] = System.nanoTime() - begin;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+
+        long[] all = new long[threads * opsPerThread];
+        for (int t = 0; t < threads; t++) {
+            System.arraycopy(latencies[t], 0, all, t * opsPerThread, opsPerThread);
+        }
+        Arrays.sort(all);
+        return new RunStats(all, elapsed);
+    }
 
+    private static void report(PrintStream console, String name, RunStats stats) {
+        long[] sorted = stats.latencies;
+        double opsPerSecond = sorted.length * 1_000_000_000.0 / stats.elapsedNanos;
+        console.printf("%-38s %,12.0f ops/sec  p50=%6.1fus  p99=%7.1fus  p99.9=%8.1fus  max=%8.1fus%n",
+                name, opsPerSecond, percentile(sorted, 0.50), percentile(sorted, 0.99),
+                percentile(sorted, 0.999), sorted[sorted.length - 1] / 1000.0);
+    }
 
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1000.0;
+    }
+
+    private static List<Group> createGroups(SplitWiseService service, int groupCount, int membersPerGroup) {
+        List<Group> groups = new ArrayList<>();
+        for (int g = 0; g < groupCount; g++) {
+            List<User> members = new ArrayList<>();
+            for (int m = 0; m < membersPerGroup; m++) {
+                members.add(service.addUser("user-" + g + "-" + m, "user-" + g + "-" + m + "@example.com"));
+            }
+            groups.add(service.addGroup("group-" + g, members));
+        }
+        return groups;
+    }
+
+    private static Expense.ExpenseBuilder randomExpense(Group group, ThreadLocalRandom random) {
+        return new Expense.ExpenseBuilder()
+                .setDescription("stress")
+                .setAmount(randomAmount(random))
+                .setGroup(group)
+                .setPaidBy(randomMember(group, random))
+                .setParticipants(group.getMembers())
+                .setSplitStrategy(EQUAL);
+    }
+
+    private static Iterator<Expense.ExpenseBuilder> randomExpenses(List<Group> groups, int count) {
+        return new Iterator<>() {
+            private int produced;
+
+            @Override
+            public boolean hasNext() {
+                return produced < count;
+            }
+
+            @Override
+            public Expense.ExpenseBuilder next() {
+                produced++;
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                return randomExpense(groups.get(random.nextInt(groups.size())), random);
+            }
+        };
+    }
+
+    private static void settleRandomly(SplitWiseService service, Group group, ThreadLocalRandom random) {
+        User payer = randomMember(group, random);
+        User payee = randomMember(group, random);
+        if (!payer.equals(payee))
+            service.settleUp(payer.getId(), payee.getId(), randomAmount(random), group);
+    }
+
+    private static User randomMember(Group group, ThreadLocalRandom random) {
+        return group.getMembers().get(random.nextInt(group.getMembers().size()));
+    }
+
+    private static double randomAmount(ThreadLocalRandom random) {
+        return random.nextInt(1, 10_000) / 100.0;
+    }
+
+    private static void verifyGroupsBalanced(List<Group> groups) {
+        int violations = 0;
+        for (Group group : groups) {
+            double sum = 0;
+            double magnitude = 0;
+            for (User member : group.getMembers()) {
+                BalanceSheet sheet = member.getBalanceSheetById(group.getId());
+                for (Map.Entry<User, Double> entry : sheet.getBalances().entrySet()) {
+                    sum += entry.getValue();
+                    magnitude += Math.abs(entry.getValue());
+                    double mirrored = entry.getKey().getBalanceSheetById(group.getId()).getBalances().getOrDefault(member, 0.0);
+                    if (Math.abs(entry.getValue() + mirrored) > 1e-6 * Math.max(1, Math.abs(entry.getValue())))
+                        violations++;
+                }
+            }
+            if (Math.abs(sum) > 1e-9 * Math.max(1, magnitude)) {
+                System.out.printf("Group %s does not balance: sum=%f%n", group.getName(), sum);
+                violations++;
+            }
+        }
+        if (violations > 0)
+            throw new IllegalStateException(violations + " balance invariant violations");
+        System.out.println("All " + groups.size() + " groups balance to zero.");
+    }
+}
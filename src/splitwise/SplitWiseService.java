@@ -1,24 +1,37 @@
 package splitwise;
 
 import splitwise.entities.*;
+import splitwise.importer.BalanceDeltas;
+import splitwise.importer.CsvExpenseReader;
+import splitwise.importer.ExpenseImporter;
+import splitwise.importer.ImportResult;
+import splitwise.repository.ExpenseRepository;
+import splitwise.strategy.SplitPlan;
 import splitwise.strategy.SplitStrategy;
 
+import java.io.Reader;
 import java.util.*;
 import java.util.stream.Collectors;
 
 public class SplitWiseService {
     private final Map<String, User> users = new HashMap<>();
     private final Map<String, Group> groups = new HashMap<>();
+    private final ExpenseRepository expenseRepository = new ExpenseRepository();
+    private double[] splitBuffer = new double[0];
     private static class BillPugh{
         private static SplitWiseService splitWiseService = new SplitWiseService();
     }
 
     private SplitWiseService(){}
 
-    public SplitWiseService getInstance(){
+    public static SplitWiseService getInstance(){
         return BillPugh.splitWiseService;
     }
 
+    public ExpenseRepository getExpenseRepository() {
+        return expenseRepository;
+    }
+
     public User addUser(String name, String email) {
         User user = new User(name, email);
         users.put(user.getId(), user);
@@ -45,9 +58,70 @@ public class SplitWiseService {
                 participantBalanceSheet.adjustBalance(paidBy, -amount);
             }
         }
+        expenseRepository.save(expense);
         System.out.println("Expense '" + expense.getDescription() + "' of amount " + expense.getAmount() + " created.");
     }
 
+    // Recurring-expense fast path: shares are written into a buffer reused under the service lock and the
+    // plan's participants are used as they are, so no strategy runs and no participant list is built. The
+    // expense is still recorded in the history, with the splits the balances were adjusted by.
+    public synchronized void createExpense(String description, double amount, User paidBy, Group group, SplitPlan plan){
+        // checked before any balance moves, so an expense naming an outsider changes nothing
+        requireMember(paidBy, group);
+        for(int i = 0; i < plan.size(); i++)
+            requireMember(plan.getParticipant(i), group);
+        if(splitBuffer.length < plan.size())
+            splitBuffer = new double[plan.size()];
+        plan.calculate(amount, splitBuffer);
+        BalanceSheet paidByBalanceSheet = paidBy.getBalanceSheetById(group.getId());
+        List<Split> splits = new ArrayList<>(plan.size());
+        for(int i = 0; i < plan.size(); i++){
+            User participant = plan.getParticipant(i);
+            splits.add(new Split(participant, splitBuffer[i]));
+            if(!paidBy.equals(participant)){
+                paidByBalanceSheet.adjustBalance(participant, splitBuffer[i]);
+                participant.getBalanceSheetById(group.getId()).adjustBalance(paidBy, -splitBuffer[i]);
+            }
+        }
+        expenseRepository.save(new Expense.ExpenseBuilder()
+                .setDescription(description)
+                .setAmount(amount)
+                .setPaidBy(paidBy)
+                .setGroup(group)
+                .setSplits(splits)
+                .build());
+    }
+
+    private static void requireMember(User user, Group group){
+        if(user == null || user.getBalanceSheetById(group.getId()) == null)
+            throw new IllegalArgumentException((user == null ? "Unknown user" : user.getName()) + " is not a member of group " + group.getName());
+    }
+
+    // Bulk import: expenses are validated and folded into per-worker delta buffers in parallel,
+    // then every group's net deltas are applied to the balance sheets in a single pass.
+    public ImportResult importExpenses(Iterator<Expense.ExpenseBuilder> builders){
+        long start = System.nanoTime();
+        BalanceDeltas deltas = ExpenseImporter.aggregate(builders);
+        commitDeltas(deltas);
+        deltas.getAccepted().forEach(expenseRepository::save);
+        return new ImportResult(deltas.getImported(), deltas.getRejected(), deltas.getDeltas().size(), System.nanoTime() - start);
+    }
+
+    public ImportResult importExpenses(Reader csv){
+        return importExpenses(new CsvExpenseReader(csv, users, groups));
+    }
+
+    private synchronized void commitDeltas(BalanceDeltas deltas){
+        for(Map.Entry<String, Map<User, Map<User, Double>>> group : deltas.getDeltas().entrySet()){
+            for(Map.Entry<User, Map<User, Double>> owner : group.getValue().entrySet()){
+                BalanceSheet ownerBalanceSheet = owner.getKey().getBalanceSheetById(group.getKey());
+                for(Map.Entry<User, Double> entry : owner.getValue().entrySet()){
+                    ownerBalanceSheet.adjustBalance(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
     public synchronized  void settleUp(String payerId, String payeeId, double amount, Group group){
         User payer = users.get(payerId);
         User payee = users.get(payeeId);
@@ -62,6 +136,49 @@ public class SplitWiseService {
         user.getBalanceSheetById(group.getId()).showBalances();
     }
 
+    // O(1) lookups against the per-user summary maintained on every balance adjustment.
+    public double getTotalOwedToUser(String userId) {
+        return users.get(userId).getBalanceSummary().getTotalOwedToMe();
+    }
+
+    public double getTotalOwedByUser(String userId) {
+        return users.get(userId).getBalanceSummary().getTotalIOwe();
+    }
+
+    public double getBalanceBetween(String userId, String otherUserId) {
+        return users.get(userId).getBalanceSummary().getBalanceWith(users.get(otherUserId));
+    }
+
+    // Built into one buffer and printed once; amounts are written as cents rather than through String.format.
+    public void showBalanceSummary(String userId) {
+        User user = users.get(userId);
+        BalanceSummary summary = user.getBalanceSummary();
+        StringBuilder out = new StringBuilder(256);
+        out.append("--- Balance Summary for ").append(user.getName()).append(" across all groups -------- \n");
+        for (Map.Entry<User, Double> entry : summary.getBalancesByCounterparty().entrySet()) {
+            double amount = entry.getValue();
+            if (amount > 0)
+                out.append(entry.getKey().getName()).append(" owes ").append(user.getName());
+            else
+                out.append(user.getName()).append(" owes ").append(entry.getKey().getName());
+            appendDollars(out.append(" $"), Math.abs(amount)).append('\n');
+        }
+        appendDollars(out.append("Total Owed to ").append(user.getName()).append(": $"), summary.getTotalOwedToMe()).append('\n');
+        appendDollars(out.append("Total ").append(user.getName()).append(" Owes: $"), summary.getTotalIOwe()).append('\n');
+        out.append("---------------------------------");
+        System.out.println(out);
+    }
+
+    // same output as String.format("%.2f", amount) for a non-negative amount
+    private static StringBuilder appendDollars(StringBuilder out, double amount) {
+        long cents = Math.round(amount * 100);
+        out.append(cents / 100).append('.');
+        long fraction = cents % 100;
+        if (fraction < 10)
+            out.append('0');
+        return out.append(fraction);
+    }
+
     public List<Transaction> simplifyGroupDebts(String groupId) throws IllegalArgumentException {
         Group group = groups.get(groupId);
         if(group == null)
@@ -20,6 +20,7 @@ public class BalanceSheet {
         if(owner.equals(otherUser))
             return;
         balances.merge(otherUser, amount, Double::sum);
+        owner.getBalanceSummary().adjust(otherUser, amount);
     }
 
     public void showBalances() {
@@ -0,0 +1,65 @@
+package splitwise.entities;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Cross-group view of one user's balances, kept up to date by BalanceSheet.adjustBalance
+// so dashboard reads never have to walk every group sheet. Values are kept exactly as the sheets hold
+// them; sub-cent residues are only hidden when read, so the summary never drifts from the sheets.
+public class BalanceSummary {
+    private static final double EPSILON = 0.01;
+
+    private final Map<User, Double> netByCounterparty = new HashMap<>();
+    private double totalOwedToMe;
+    private double totalIOwe;
+
+    synchronized void adjust(User otherUser, double amount) {
+        double before = netByCounterparty.getOrDefault(otherUser, 0.0);
+        double after = before + amount;
+        if (after == 0)
+            netByCounterparty.remove(otherUser);
+        else
+            netByCounterparty.put(otherUser, after);
+        totalOwedToMe += owedToMe(after) - owedToMe(before);
+        totalIOwe += iOwe(after) - iOwe(before);
+    }
+
+    public synchronized double getTotalOwedToMe() {
+        return settled(totalOwedToMe);
+    }
+
+    public synchronized double getTotalIOwe() {
+        return settled(totalIOwe);
+    }
+
+    public synchronized double getNetBalance() {
+        return settled(totalOwedToMe - totalIOwe);
+    }
+
+    // positive: otherUser owes me, negative: I owe otherUser
+    public synchronized double getBalanceWith(User otherUser) {
+        return settled(netByCounterparty.getOrDefault(otherUser, 0.0));
+    }
+
+    // counterparties whose balance is at least a cent either way
+    public synchronized Map<User, Double> getBalancesByCounterparty() {
+        Map<User, Double> balances = new HashMap<>();
+        for (Map.Entry<User, Double> entry : netByCounterparty.entrySet()) {
+            if (Math.abs(entry.getValue()) >= EPSILON)
+                balances.put(entry.getKey(), entry.getValue());
+        }
+        return balances;
+    }
+
+    private static double owedToMe(double balance) {
+        return balance > 0 ? balance : 0;
+    }
+
+    private static double iOwe(double balance) {
+        return balance < 0 ? -balance : 0;
+    }
+
+    private static double settled(double balance) {
+        return Math.abs(balance) < EPSILON ? 0 : balance;
+    }
+}
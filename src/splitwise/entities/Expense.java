@@ -19,8 +19,10 @@ public class Expense {
         this.description = builder.description;
         this.amount = builder.amount;
         this.paidBy = builder.paidBy;
-        this.splits = builder.splitStrategy.calculateSplits(builder.amount, builder.paidBy, builder.participants, builder.splitValues);
-        this.timestamp = LocalDateTime.now();
+        this.splits = builder.splits != null
+                ? builder.splits
+                : builder.splitStrategy.calculateSplits(builder.amount, builder.paidBy, builder.participants, builder.splitValues);
+        this.timestamp = builder.timestamp != null ? builder.timestamp : LocalDateTime.now();
         this.group = builder.group;
     }
 
@@ -61,6 +63,8 @@ public class Expense {
         private Group group;
         private SplitStrategy splitStrategy;
         private List<Double> splitValues;
+        private List<Split> splits;
+        private LocalDateTime timestamp;
 
         public ExpenseBuilder setId(String id) {
             this.id = id;
@@ -97,6 +101,18 @@ public class Expense {
             return this;
         }
 
+        // shares already worked out elsewhere, e.g. by a SplitPlan; the split strategy is not consulted
+        public ExpenseBuilder setSplits(List<Split> splits) {
+            this.splits = splits;
+            return this;
+        }
+
+        // when the expense happened; defaults to the moment it is built (imports carry the original time)
+        public ExpenseBuilder setTimestamp(LocalDateTime timestamp) {
+            this.timestamp = timestamp;
+            return this;
+        }
+
         public Expense build() {
             return new Expense(this);
         }
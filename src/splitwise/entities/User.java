@@ -9,12 +9,14 @@ public class User {
     private final String name;
     private final String email;
     private final Map<String, BalanceSheet> balanceSheet;
+    private final BalanceSummary balanceSummary;
 
     public User(String name, String email) {
         this.id = UUID.randomUUID().toString();
         this.name = name;
         this.email = email;
         this.balanceSheet = new ConcurrentHashMap<>();
+        this.balanceSummary = new BalanceSummary();
     }
 
     public String getId() {
@@ -33,6 +35,10 @@ public class User {
         return balanceSheet;
     }
 
+    public BalanceSummary getBalanceSummary() {
+        return balanceSummary;
+    }
+
     public BalanceSheet getBalanceSheetById(String groupId) {
         return balanceSheet.get(groupId);
     }
@@ -0,0 +1,99 @@
+package splitwise.importer;
+
+import splitwise.entities.Expense;
+import splitwise.entities.Group;
+import splitwise.entities.Split;
+import splitwise.entities.User;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Per-worker accumulator: groupId -> owner -> counterparty -> delta.
+// Each instance is confined to one thread until merge, so plain HashMaps are enough.
+public class BalanceDeltas {
+    private static final double EPSILON = 0.01;
+
+    private final Map<String, Map<User, Map<User, Double>>> deltas = new HashMap<>();
+    private final List<Expense> accepted = new ArrayList<>();
+    private long imported;
+    private long rejected;
+
+    public void accept(Expense.ExpenseBuilder builder) {
+        Expense expense;
+        try {
+            expense = builder.build();
+        } catch (RuntimeException e) {
+            rejected++;
+            return;
+        }
+        if (!isValid(expense)) {
+            rejected++;
+            return;
+        }
+        User paidBy = expense.getPaidBy();
+        Map<User, Map<User, Double>> groupDeltas = deltas.computeIfAbsent(expense.getGroup().getId(), k -> new HashMap<>());
+        for (Split split : expense.getSplits()) {
+            User participant = split.getUser();
+            if (paidBy.equals(participant))
+                continue;
+            add(groupDeltas, paidBy, participant, split.getAmount());
+            add(groupDeltas, participant, paidBy, -split.getAmount());
+        }
+        accepted.add(expense);
+        imported++;
+    }
+
+    public void merge(BalanceDeltas other) {
+        for (Map.Entry<String, Map<User, Map<User, Double>>> group : other.deltas.entrySet()) {
+            Map<User, Map<User, Double>> groupDeltas = deltas.computeIfAbsent(group.getKey(), k -> new HashMap<>());
+            for (Map.Entry<User, Map<User, Double>> owner : group.getValue().entrySet()) {
+                for (Map.Entry<User, Double> entry : owner.getValue().entrySet()) {
+                    add(groupDeltas, owner.getKey(), entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        accepted.addAll(other.accepted);
+        imported += other.imported;
+        rejected += other.rejected;
+    }
+
+    public Map<String, Map<User, Map<User, Double>>> getDeltas() {
+        return deltas;
+    }
+
+    // valid expenses, recorded in the expense history only after their deltas are committed
+    public List<Expense> getAccepted() {
+        return accepted;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    private static void add(Map<User, Map<User, Double>> groupDeltas, User owner, User other, double amount) {
+        groupDeltas.computeIfAbsent(owner, k -> new HashMap<>()).merge(other, amount, Double::sum);
+    }
+
+    private static boolean isValid(Expense expense) {
+        User paidBy = expense.getPaidBy();
+        Group group = expense.getGroup();
+        List<Split> splits = expense.getSplits();
+        if (paidBy == null || group == null || splits == null || splits.isEmpty())
+            return false;
+        if (paidBy.getBalanceSheetById(group.getId()) == null)
+            return false;
+        double total = 0;
+        for (Split split : splits) {
+            if (split.getUser() == null || split.getUser().getBalanceSheetById(group.getId()) == null)
+                return false;
+            total += split.getAmount();
+        }
+        return Math.abs(total - expense.getAmount()) <= EPSILON;
+    }
+}
@@ -0,0 +1,120 @@
+package splitwise.importer;
+
+import splitwise.entities.Expense;
+import splitwise.entities.Group;
+import splitwise.entities.User;
+import splitwise.strategy.EqualSplitStrategy;
+import splitwise.strategy.ExactSplitStrategy;
+import splitwise.strategy.PercentageSplitStrategy;
+import splitwise.strategy.SplitStrategy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+// Streams one builder per line, never holding more than a single line in memory:
+// description,amount,groupId,paidById,EQUAL|EXACT|PERCENTAGE,participantId;participantId,value;value,timestamp
+// The timestamp (ISO-8601 local date-time, e.g. 2024-03-01T19:30) is optional; rows without one are stamped
+// with the import time, so time-range queries only see imported history correctly when the column is filled.
+// Unknown users or groups are left null so the importer rejects the row; a malformed row aborts the import.
+public class CsvExpenseReader implements Iterator<Expense.ExpenseBuilder> {
+    private static final SplitStrategy EQUAL = new EqualSplitStrategy();
+    private static final SplitStrategy EXACT = new ExactSplitStrategy();
+    private static final SplitStrategy PERCENTAGE = new PercentageSplitStrategy();
+
+    private final BufferedReader reader;
+    private final Map<String, User> users;
+    private final Map<String, Group> groups;
+    private String nextLine;
+    private int lineNumber;
+
+    public CsvExpenseReader(Reader reader, Map<String, User> users, Map<String, Group> groups) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        this.users = users;
+        this.groups = groups;
+        advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextLine != null;
+    }
+
+    @Override
+    public Expense.ExpenseBuilder next() {
+        if (nextLine == null)
+            throw new NoSuchElementException();
+        String line = nextLine;
+        int currentLine = lineNumber;
+        advance();
+        return parse(line, currentLine);
+    }
+
+    private void advance() {
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#") || (lineNumber == 1 && line.startsWith("description")))
+                    continue;
+                nextLine = line;
+                return;
+            }
+            nextLine = null;
+            reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Expense.ExpenseBuilder parse(String line, int currentLine) {
+        String[] columns = line.split(",", -1);
+        if (columns.length < 6)
+            throw new IllegalArgumentException("Line " + currentLine + ": expected at least 6 columns but found " + columns.length);
+        try {
+            List<User> participants = new ArrayList<>();
+            for (String participantId : columns[5].split(";")) {
+                participants.add(users.get(participantId.trim()));
+            }
+            List<Double> splitValues = new ArrayList<>();
+            if (columns.length > 6 && !columns[6].isBlank()) {
+                for (String value : columns[6].split(";")) {
+                    splitValues.add(Double.parseDouble(value.trim()));
+                }
+            }
+            return new Expense.ExpenseBuilder()
+                    .setDescription(columns[0].trim())
+                    .setAmount(Double.parseDouble(columns[1].trim()))
+                    .setGroup(groups.get(columns[2].trim()))
+                    .setPaidBy(users.get(columns[3].trim()))
+                    .setSplitStrategy(strategyFor(columns[4].trim()))
+                    .setParticipants(participants)
+                    .setSplitValues(splitValues)
+                    .setTimestamp(columns.length > 7 && !columns[7].isBlank() ? LocalDateTime.parse(columns[7].trim()) : null);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Line " + currentLine + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static SplitStrategy strategyFor(String name) {
+        switch (name.toUpperCase()) {
+            case "EQUAL":
+                return EQUAL;
+            case "EXACT":
+                return EXACT;
+            case "PERCENTAGE":
+                return PERCENTAGE;
+            default:
+                throw new IllegalArgumentException("Unknown split strategy " + name);
+        }
+    }
+}
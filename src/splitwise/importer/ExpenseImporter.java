@@ -0,0 +1,19 @@
+package splitwise.importer;
+
+import splitwise.entities.Expense;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.StreamSupport;
+
+public class ExpenseImporter {
+    private ExpenseImporter() {}
+
+    // Builds and validates expenses in parallel; every worker folds into its own BalanceDeltas
+    // and the partial buffers are merged once the stream is drained.
+    public static BalanceDeltas aggregate(Iterator<Expense.ExpenseBuilder> builders) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(builders, Spliterator.NONNULL), true)
+                .collect(BalanceDeltas::new, BalanceDeltas::accept, BalanceDeltas::merge);
+    }
+}
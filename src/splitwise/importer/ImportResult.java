@@ -0,0 +1,43 @@
+package splitwise.importer;
+
+public class ImportResult {
+    private final long imported;
+    private final long rejected;
+    private final int groupsCommitted;
+    private final long elapsedNanos;
+
+    public ImportResult(long imported, long rejected, int groupsCommitted, long elapsedNanos) {
+        this.imported = imported;
+        this.rejected = rejected;
+        this.groupsCommitted = groupsCommitted;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public int getGroupsCommitted() {
+        return groupsCommitted;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getExpensesPerSecond() {
+        if (elapsedNanos == 0)
+            return 0;
+        return (imported + rejected) * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Imported %d expenses (%d rejected) into %d groups in %.1f ms, %.0f expenses/sec",
+                imported, rejected, groupsCommitted, elapsedNanos / 1_000_000.0, getExpensesPerSecond());
+    }
+}
@@ -0,0 +1,45 @@
+package splitwise.repository;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+// Orders expenses by timestamp; the sequence breaks ties between expenses created in the same instant.
+public final class ExpenseKey implements Comparable<ExpenseKey> {
+    private static final Comparator<ExpenseKey> ORDER = Comparator
+            .comparing((ExpenseKey key) -> key.timestamp)
+            .thenComparingLong(key -> key.sequence);
+
+    private final LocalDateTime timestamp;
+    private final long sequence;
+
+    ExpenseKey(LocalDateTime timestamp, long sequence) {
+        this.timestamp = timestamp;
+        this.sequence = sequence;
+    }
+
+    static ExpenseKey lowest(LocalDateTime timestamp) {
+        return new ExpenseKey(timestamp, Long.MIN_VALUE);
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public int compareTo(ExpenseKey other) {
+        return ORDER.compare(this, other);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ExpenseKey)) return false;
+        ExpenseKey other = (ExpenseKey) o;
+        return sequence == other.sequence && timestamp.equals(other.timestamp);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * timestamp.hashCode() + Long.hashCode(sequence);
+    }
+}
@@ -0,0 +1,25 @@
+package splitwise.repository;
+
+import splitwise.entities.Expense;
+
+import java.util.List;
+import java.util.Optional;
+
+public class ExpensePage {
+    private final List<Expense> expenses;
+    private final ExpenseKey nextCursor;
+
+    ExpensePage(List<Expense> expenses, ExpenseKey nextCursor) {
+        this.expenses = expenses;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Expense> getExpenses() {
+        return expenses;
+    }
+
+    // pass back to the repository to fetch the following page; empty on the last page
+    public Optional<ExpenseKey> getNextCursor() {
+        return Optional.ofNullable(nextCursor);
+    }
+}
@@ -0,0 +1,84 @@
+package splitwise.repository;
+
+import splitwise.entities.Expense;
+import splitwise.entities.Split;
+import splitwise.entities.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// In-memory expense history. Each group and each participant gets its own skip list keyed by
+// (timestamp, sequence); range queries are served from subMap views, so nothing is copied
+// beyond the page being returned.
+public class ExpenseRepository {
+    private final Map<String, ConcurrentSkipListMap<ExpenseKey, Expense>> byGroup = new ConcurrentHashMap<>();
+    private final Map<String, ConcurrentSkipListMap<ExpenseKey, Expense>> byParticipant = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public void save(Expense expense) {
+        ExpenseKey key = new ExpenseKey(expense.getTimestamp(), sequence.incrementAndGet());
+        index(byGroup, expense.getGroup().getId(), key, expense);
+        User paidBy = expense.getPaidBy();
+        index(byParticipant, paidBy.getId(), key, expense);
+        for (Split split : expense.getSplits()) {
+            if (!split.getUser().equals(paidBy))
+                index(byParticipant, split.getUser().getId(), key, expense);
+        }
+    }
+
+    // [from, to) in timestamp order
+    public Stream<Expense> streamByGroup(String groupId, LocalDateTime from, LocalDateTime to) {
+        return range(byGroup.get(groupId), from, to, null).values().stream();
+    }
+
+    public Stream<Expense> streamByParticipant(String userId, LocalDateTime from, LocalDateTime to) {
+        return range(byParticipant.get(userId), from, to, null).values().stream();
+    }
+
+    public ExpensePage findByGroup(String groupId, LocalDateTime from, LocalDateTime to, ExpenseKey after, int limit) {
+        return page(range(byGroup.get(groupId), from, to, after), limit);
+    }
+
+    public ExpensePage findByParticipant(String userId, LocalDateTime from, LocalDateTime to, ExpenseKey after, int limit) {
+        return page(range(byParticipant.get(userId), from, to, after), limit);
+    }
+
+    private static void index(Map<String, ConcurrentSkipListMap<ExpenseKey, Expense>> index, String id, ExpenseKey key, Expense expense) {
+        index.computeIfAbsent(id, k -> new ConcurrentSkipListMap<>()).put(key, expense);
+    }
+
+    private static NavigableMap<ExpenseKey, Expense> range(ConcurrentSkipListMap<ExpenseKey, Expense> expenses,
+                                                           LocalDateTime from, LocalDateTime to, ExpenseKey after) {
+        ExpenseKey low = ExpenseKey.lowest(from);
+        ExpenseKey high = ExpenseKey.lowest(to);
+        if (expenses == null || low.compareTo(high) >= 0)
+            return new ConcurrentSkipListMap<>();
+        // a cursor from another window is clamped to this one: before it means the whole window, past it nothing
+        if (after == null || after.compareTo(low) < 0)
+            return expenses.subMap(low, true, high, false);
+        if (after.compareTo(high) >= 0)
+            return new ConcurrentSkipListMap<>();
+        return expenses.subMap(after, false, high, false);
+    }
+
+    private static ExpensePage page(NavigableMap<ExpenseKey, Expense> window, int limit) {
+        if (limit <= 0)
+            throw new IllegalArgumentException("limit must be positive");
+        List<Expense> expenses = new ArrayList<>(Math.min(limit, 64));
+        ExpenseKey last = null;
+        for (Map.Entry<ExpenseKey, Expense> entry : window.entrySet()) {
+            if (expenses.size() == limit)
+                return new ExpensePage(expenses, last);
+            expenses.add(entry.getValue());
+            last = entry.getKey();
+        }
+        return new ExpensePage(expenses, null);
+    }
+}
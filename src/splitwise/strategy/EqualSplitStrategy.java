@@ -9,7 +9,7 @@ import java.util.List;
 public class EqualSplitStrategy  implements  SplitStrategy{
     @Override
     public List<Split> calculateSplits(double totalAmount, User paidBy, List<User> participants, List<Double> splitValues) {
-        List<Split> splits = new ArrayList<>();
+        List<Split> splits = new ArrayList<>(participants.size());
         double amountPerPerson = totalAmount/ participants.size();
         for(User participant : participants){
             splits.add(new Split(participant, amountPerPerson));
@@ -12,14 +12,22 @@ public class ExactSplitStrategy  implements  SplitStrategy{
             System.out.println("Number of participants and split values must match.");
             return null;
         }
-        if(splitValues.stream().mapToDouble(Double::doubleValue).sum() + totalAmount != 0){
+        if(Math.abs(sum(splitValues) - totalAmount) > 0.01){
             System.out.println("Sum of exact amounts must equal the total expense amount.");
             return null;
         }
-        List<Split> splits = new ArrayList<>();
+        List<Split> splits = new ArrayList<>(participants.size());
         for (int i = 0; i < participants.size(); i++) {
             splits.add(new Split(participants.get(i), splitValues.get(i)));
         }
         return splits;
     }
+
+    private static double sum(List<Double> values){
+        double total = 0;
+        for(double value : values){
+            total += value;
+        }
+        return total;
+    }
 }
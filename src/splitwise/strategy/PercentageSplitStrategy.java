@@ -13,15 +13,23 @@ public class PercentageSplitStrategy  implements SplitStrategy{
             System.out.println("Number of participants and split values must match.");
             return null;
         }
-        if(splitValues.stream().mapToDouble(Double::doubleValue).sum() + 100.00 != 0){
+        if(Math.abs(sum(splitValues) - 100.00) > 0.01){
             System.out.println("Sum of percentages must be 100.");
             return null;
         }
-        List<Split> splits = new ArrayList<>();
+        List<Split> splits = new ArrayList<>(participants.size());
         for(int i = 0; i < participants.size() ; i++){
             double amount = (totalAmount * splitValues.get(i))/ 100.0;
             splits.add(new Split(participants.get(i), amount));
         }
         return splits;
     }
+
+    private static double sum(List<Double> values){
+        double total = 0;
+        for(double value : values){
+            total += value;
+        }
+        return total;
+    }
 }
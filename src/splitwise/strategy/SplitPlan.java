@@ -0,0 +1,85 @@
+package splitwise.strategy;
+
+import splitwise.entities.User;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Split compiled once for a fixed participant set (rent, subscriptions, ...). Weights are held in a
+// primitive array and calculate() writes into a caller-owned buffer, so applying a plan allocates nothing.
+public final class SplitPlan {
+    private final User[] participants;
+    private final double[] weights;
+
+    private SplitPlan(User[] participants, double[] weights) {
+        this.participants = participants;
+        this.weights = weights;
+    }
+
+    public static SplitPlan equal(List<User> participants) {
+        requireParticipants(participants);
+        double[] weights = new double[participants.size()];
+        Arrays.fill(weights, 1.0 / participants.size());
+        return new SplitPlan(participants.toArray(new User[0]), weights);
+    }
+
+    // exact amounts are kept as ratios, so the plan still applies if the recurring total changes
+    public static SplitPlan exact(List<User> participants, List<Double> amounts) {
+        return weighted(participants, amounts, sum(amounts), "Sum of exact amounts must be positive.");
+    }
+
+    public static SplitPlan percentage(List<User> participants, List<Double> percentages) {
+        if (Math.abs(sum(percentages) - 100.0) > 0.01)
+            throw new IllegalArgumentException("Sum of percentages must be 100.");
+        return weighted(participants, percentages, 100.0, "Sum of percentages must be 100.");
+    }
+
+    public int size() {
+        return participants.length;
+    }
+
+    public User getParticipant(int index) {
+        return participants[index];
+    }
+
+    // The last participant absorbs the floating point remainder so the shares always add up to total.
+    public void calculate(double total, double[] amounts) {
+        if (amounts.length < participants.length)
+            throw new IllegalArgumentException("Buffer holds " + amounts.length + " amounts, plan needs " + participants.length);
+        int last = participants.length - 1;
+        double assigned = 0;
+        for (int i = 0; i < last; i++) {
+            amounts[i] = total * weights[i];
+            assigned += amounts[i];
+        }
+        amounts[last] = total - assigned;
+    }
+
+    private static SplitPlan weighted(List<User> participants, List<Double> values, double divisor, String error) {
+        requireParticipants(participants);
+        if (values == null || participants.size() != values.size())
+            throw new IllegalArgumentException("Number of participants and split values must match.");
+        if (divisor <= 0)
+            throw new IllegalArgumentException(error);
+        double[] weights = new double[values.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = values.get(i) / divisor;
+        }
+        return new SplitPlan(participants.toArray(new User[0]), weights);
+    }
+
+    private static void requireParticipants(List<User> participants) {
+        if (participants == null || participants.isEmpty())
+            throw new IllegalArgumentException("A split plan needs at least one participant.");
+    }
+
+    private static double sum(List<Double> values) {
+        double total = 0;
+        if (values != null) {
+            for (double value : values) {
+                total += value;
+            }
+        }
+        return total;
+    }
+}